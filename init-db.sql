@@ -12,42 +12,12 @@
 -- Connect to incident_db before running the rest
 
 -- ============================================
--- Tables (auto-created by Hibernate, but here for reference)
+-- Tables
 -- ============================================
 
--- Users table
-CREATE TABLE IF NOT EXISTS users (
-    id BIGSERIAL PRIMARY KEY,
-    username VARCHAR(50) NOT NULL UNIQUE,
-    email VARCHAR(100) NOT NULL UNIQUE,
-    password VARCHAR(255) NOT NULL,
-    role VARCHAR(20) NOT NULL,
-    enabled BOOLEAN NOT NULL DEFAULT TRUE,
-    created_at TIMESTAMP NOT NULL,
-    updated_at TIMESTAMP NOT NULL
-);
-
-CREATE INDEX IF NOT EXISTS idx_username ON users(username);
-CREATE INDEX IF NOT EXISTS idx_email ON users(email);
-
--- Incidents table
-CREATE TABLE IF NOT EXISTS incidents (
-    id BIGSERIAL PRIMARY KEY,
-    title VARCHAR(200) NOT NULL,
-    description TEXT NOT NULL,
-    severity VARCHAR(20) NOT NULL,
-    status VARCHAR(20) NOT NULL,
-    admin_notes TEXT,
-    reported_by_id BIGINT NOT NULL,
-    created_at TIMESTAMP NOT NULL,
-    updated_at TIMESTAMP NOT NULL,
-    FOREIGN KEY (reported_by_id) REFERENCES users(id)
-);
-
-CREATE INDEX IF NOT EXISTS idx_status ON incidents(status);
-CREATE INDEX IF NOT EXISTS idx_severity ON incidents(severity);
-CREATE INDEX IF NOT EXISTS idx_reported_by ON incidents(reported_by_id);
-CREATE INDEX IF NOT EXISTS idx_created_at ON incidents(created_at);
+-- The schema is created and upgraded by the Flyway migrations in
+-- src/main/resources/db/migration/postgresql when the application starts.
+-- Start it once before loading the sample data below.
 
 -- ============================================
 -- Sample Data (Optional - for testing)
@@ -94,9 +64,10 @@ VALUES (
 ) ON CONFLICT (username) DO NOTHING;
 
 -- Insert sample incidents
-INSERT INTO incidents (title, description, severity, status, reported_by_id, created_at, updated_at)
+INSERT INTO incidents (id, title, description, severity, status, reported_by_id, created_at, updated_at)
 VALUES
 (
+    nextval('incidents_seq'),
     'Unauthorized Access Attempt Detected',
     'Multiple failed login attempts detected from IP 192.168.1.100. The system blocked the IP after 5 failed attempts. Investigation needed to determine if this is a brute force attack.',
     'HIGH',
@@ -106,6 +77,7 @@ VALUES
     CURRENT_TIMESTAMP - INTERVAL '2 hours'
 ),
 (
+    nextval('incidents_seq'),
     'Suspicious Email Received',
     'Received a phishing email claiming to be from IT department requesting password reset. Email contained suspicious links. Forwarded to security team for analysis.',
     'MEDIUM',
@@ -115,6 +87,7 @@ VALUES
     CURRENT_TIMESTAMP - INTERVAL '1 hour'
 ),
 (
+    nextval('incidents_seq'),
     'Data Exfiltration Alert',
     'Large volume of data transfer detected from database server to external IP during off-hours. Potential data breach. Immediate investigation required.',
     'CRITICAL',
@@ -124,6 +97,7 @@ VALUES
     CURRENT_TIMESTAMP - INTERVAL '30 minutes'
 ),
 (
+    nextval('incidents_seq'),
     'Malware Detection on Workstation',
     'Antivirus detected and quarantined malware on workstation WS-1234. User reported slow performance before detection. System has been isolated from network.',
     'HIGH',
@@ -133,6 +107,7 @@ VALUES
     CURRENT_TIMESTAMP - INTERVAL '12 hours'
 ),
 (
+    nextval('incidents_seq'),
     'Outdated Software Alert',
     'Critical security patches available for production servers. Several systems running outdated versions with known vulnerabilities.',
     'MEDIUM',
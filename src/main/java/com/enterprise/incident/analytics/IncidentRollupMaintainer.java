@@ -0,0 +1,192 @@
+package com.enterprise.incident.analytics;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.IncidentRollupRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the analytics rollup tables in step with incident changes. Deltas of committed
+ * changes are merged in memory and upserted by a background thread every flush interval,
+ * in one transaction per flush, so rollups never count a change that rolled back and
+ * concurrent incident transactions do not queue on the same hot bucket rows. Deltas still
+ * pending when the process dies are lost. Deleting an incident leaves its history in the
+ * rollups.
+ * <p>
+ * Incidents that existed before the rollups did are counted once by a backfill, up to a
+ * cutoff time recorded in the {@code rollup_backfill} marker row; live deltas only count
+ * changes after it. Until a node knows the cutoff it holds back the changes it sees. A
+ * change whose transaction is still open when the cutoff is taken is missed.
+ */
+@Component
+@Slf4j
+public class IncidentRollupMaintainer {
+
+    private final RollupStore rollupStore;
+    private final IncidentRepository incidentRepository;
+    private final IncidentRollupRepository incidentRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration flushInterval;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("incident-rollup-flusher").daemon().factory());
+
+    private final Object lock = new Object();
+    private RollupDeltas pending = new RollupDeltas();
+    // Changes seen before the backfill cutoff is known; null once it is
+    private List<IncidentChangedEvent> beforeCutoff = new ArrayList<>();
+    // Changes at or before this time are counted by the backfill; null when there was none
+    private LocalDateTime cutoff;
+
+    public IncidentRollupMaintainer(
+            RollupStore rollupStore,
+            IncidentRepository incidentRepository,
+            IncidentRollupRepository incidentRollupRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${incident.analytics.flush-interval:PT5S}") Duration flushInterval
+    ) {
+        this.rollupStore = rollupStore;
+        this.incidentRepository = incidentRepository;
+        this.incidentRollupRepository = incidentRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the flusher and store whatever is still pending
+     */
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Record a committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        synchronized (lock) {
+            if (beforeCutoff != null) {
+                beforeCutoff.add(event);
+            } else {
+                collect(event, pending);
+            }
+        }
+    }
+
+    /**
+     * Upsert the pending deltas. If that fails they are kept and retried with the next flush.
+     */
+    void flush() {
+        RollupDeltas deltas;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            deltas = pending;
+            pending = new RollupDeltas();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupStore.apply(deltas));
+        } catch (RuntimeException e) {
+            log.warn("Could not flush analytics rollups, will retry: {}", e.getMessage());
+            synchronized (lock) {
+                deltas.addAll(pending);
+                pending = deltas;
+            }
+        }
+    }
+
+    /**
+     * Derive the rollups from the incidents created up to now, once per database: e.g. on
+     * the first start after upgrading. The node that claims the marker row does it; nodes
+     * starting at the same time wait for it, and then only learn the cutoff. Status changes
+     * before the upgrade are not recorded, so each incident is counted in its current status
+     * at its last update.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime backfillCutoff = transactionTemplate.execute(status -> {
+            if (!rollupStore.claimBackfill(now)) {
+                return rollupStore.backfillCutoff();
+            }
+            RollupDeltas deltas = new RollupDeltas();
+            long incidents = 0;
+            try (Stream<IncidentRepository.IncidentRollupSource> rows = incidentRepository.streamForRollupsCreatedUpTo(now)) {
+                Iterator<IncidentRepository.IncidentRollupSource> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    IncidentRepository.IncidentRollupSource row = iterator.next();
+                    deltas.entered(row.getCreatedAt(), row.getSeverity(), Incident.Status.OPEN, null);
+                    deltas.created(row.getCreatedAt(), row.getSeverity());
+                    deltas.reported(row.getCreatedAt(), row.getReporterId());
+                    LocalDateTime changedAt = row.getResolvedAt() != null ? row.getResolvedAt() : row.getUpdatedAt();
+                    // A change after the cutoff is left to its live delta
+                    if (row.getStatus() != Incident.Status.OPEN && !changedAt.isAfter(now)) {
+                        deltas.entered(changedAt, row.getSeverity(), row.getStatus(), row.getCreatedAt());
+                    }
+                    incidents++;
+                }
+            }
+            rollupStore.apply(deltas);
+            log.info("Analytics rollups backfilled from {} incidents created up to {}", incidents, now);
+            return now;
+        });
+
+        synchronized (lock) {
+            cutoff = backfillCutoff;
+            if (beforeCutoff != null) {
+                beforeCutoff.forEach(event -> collect(event, pending));
+                beforeCutoff = null;
+            }
+        }
+    }
+
+    private void collect(IncidentChangedEvent event, RollupDeltas deltas) {
+        switch (event.type()) {
+            case CREATED -> {
+                LocalDateTime createdAt = event.incidentCreatedAt() != null
+                        ? event.incidentCreatedAt() : event.occurredAt();
+                if (cutoff != null && !createdAt.isAfter(cutoff)) {
+                    return;
+                }
+                deltas.entered(createdAt, event.severity(), event.status(), null);
+                deltas.created(createdAt, event.severity());
+                deltas.reported(createdAt, event.reporterId());
+            }
+            case UPDATED -> {
+                if (event.status() != event.previousStatus()
+                        && (cutoff == null || event.occurredAt().isAfter(cutoff))) {
+                    deltas.entered(event.occurredAt(), event.severity(), event.status(), event.incidentCreatedAt());
+                }
+            }
+            case DELETED -> {
+            }
+        }
+    }
+}
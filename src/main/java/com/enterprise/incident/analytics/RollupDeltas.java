@@ -0,0 +1,93 @@
+package com.enterprise.incident.analytics;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentRollup;
+import com.enterprise.incident.entity.IncidentRollup.BucketSize;
+import com.enterprise.incident.entity.ReporterRollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rollup increments collected between two flushes (or in one backfill pass) and written
+ * together. Keys are kept sorted so concurrent writers lock rollup rows in the same order.
+ */
+class RollupDeltas {
+
+    private static final Comparator<IncidentRollup.Key> INCIDENT_KEY_ORDER = Comparator
+            .comparing(IncidentRollup.Key::getBucketSize)
+            .thenComparing(IncidentRollup.Key::getBucketStart)
+            .thenComparing(IncidentRollup.Key::getSeverity)
+            .thenComparing(IncidentRollup.Key::getStatus);
+
+    private static final Comparator<ReporterRollup.Key> REPORTER_KEY_ORDER = Comparator
+            .comparing(ReporterRollup.Key::getBucketDay)
+            .thenComparing(ReporterRollup.Key::getReporterId);
+
+    /** entered, resolution seconds, created */
+    private final Map<IncidentRollup.Key, long[]> incidents = new TreeMap<>(INCIDENT_KEY_ORDER);
+    private final Map<ReporterRollup.Key, long[]> reporters = new TreeMap<>(REPORTER_KEY_ORDER);
+
+    /**
+     * An incident moved into {@code status} at {@code at}; {@code createdAt} is only
+     * needed for resolutions
+     */
+    void entered(LocalDateTime at, Incident.Severity severity, Incident.Status status, LocalDateTime createdAt) {
+        long resolutionSeconds = status == Incident.Status.RESOLVED && createdAt != null
+                ? Math.max(0, Duration.between(createdAt, at).toSeconds())
+                : 0;
+        for (BucketSize size : BucketSize.values()) {
+            long[] totals = incidents.computeIfAbsent(
+                    new IncidentRollup.Key(size, size.truncate(at), severity, status), key -> new long[3]);
+            totals[0]++;
+            totals[1] += resolutionSeconds;
+        }
+    }
+
+    /**
+     * A new incident was created at {@code at}. Counted on its OPEN rows, in addition to
+     * the {@link #entered} transition every new incident also makes.
+     */
+    void created(LocalDateTime at, Incident.Severity severity) {
+        for (BucketSize size : BucketSize.values()) {
+            incidents.computeIfAbsent(new IncidentRollup.Key(size, size.truncate(at), severity, Incident.Status.OPEN),
+                    key -> new long[3])[2]++;
+        }
+    }
+
+    /**
+     * A user reported an incident at {@code at}
+     */
+    void reported(LocalDateTime at, Long reporterId) {
+        reporters.computeIfAbsent(new ReporterRollup.Key(at.toLocalDate(), reporterId), key -> new long[1])[0]++;
+    }
+
+    /**
+     * Add another set of deltas to this one
+     */
+    void addAll(RollupDeltas other) {
+        other.incidents.forEach((key, totals) -> {
+            long[] sum = incidents.computeIfAbsent(key, k -> new long[3]);
+            for (int i = 0; i < sum.length; i++) {
+                sum[i] += totals[i];
+            }
+        });
+        other.reporters.forEach((key, totals) ->
+                reporters.computeIfAbsent(key, k -> new long[1])[0] += totals[0]);
+    }
+
+    boolean isEmpty() {
+        return incidents.isEmpty() && reporters.isEmpty();
+    }
+
+    Map<IncidentRollup.Key, long[]> incidents() {
+        return incidents;
+    }
+
+    Map<ReporterRollup.Key, long[]> reporters() {
+        return reporters;
+    }
+}
@@ -0,0 +1,123 @@
+package com.enterprise.incident.analytics;
+
+import com.enterprise.incident.entity.IncidentRollup;
+import com.enterprise.incident.entity.ReporterRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds rollup deltas to the rollup tables with one batched upsert per table:
+ * INSERT ... ON CONFLICT on PostgreSQL, standard MERGE elsewhere (H2).
+ * Runs in the caller's transaction, so it commits or rolls back with the caller.
+ */
+@Component
+@RequiredArgsConstructor
+class RollupStore {
+
+    private static final String PG_INCIDENT_UPSERT =
+            "INSERT INTO incident_rollups (bucket_size, bucket_start, severity, status, entered, resolution_seconds, created) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (bucket_size, bucket_start, severity, status) DO UPDATE SET " +
+            "entered = incident_rollups.entered + EXCLUDED.entered, " +
+            "resolution_seconds = incident_rollups.resolution_seconds + EXCLUDED.resolution_seconds, " +
+            "created = incident_rollups.created + EXCLUDED.created";
+
+    private static final String PG_REPORTER_UPSERT =
+            "INSERT INTO reporter_rollups (bucket_day, reporter_id, reported) VALUES (?, ?, ?) " +
+            "ON CONFLICT (bucket_day, reporter_id) DO UPDATE SET " +
+            "reported = reporter_rollups.reported + EXCLUDED.reported";
+
+    private static final String MERGE_INCIDENT =
+            "MERGE INTO incident_rollups t USING (VALUES (CAST(? AS VARCHAR(10)), CAST(? AS TIMESTAMP), " +
+            "CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(20)), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "AS s (bucket_size, bucket_start, severity, status, entered, resolution_seconds, created) " +
+            "ON t.bucket_size = s.bucket_size AND t.bucket_start = s.bucket_start " +
+            "AND t.severity = s.severity AND t.status = s.status " +
+            "WHEN MATCHED THEN UPDATE SET entered = t.entered + s.entered, " +
+            "resolution_seconds = t.resolution_seconds + s.resolution_seconds, created = t.created + s.created " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_size, bucket_start, severity, status, entered, resolution_seconds, created) " +
+            "VALUES (s.bucket_size, s.bucket_start, s.severity, s.status, s.entered, s.resolution_seconds, s.created)";
+
+    private static final String MERGE_REPORTER =
+            "MERGE INTO reporter_rollups t USING (VALUES (CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS BIGINT))) " +
+            "AS s (bucket_day, reporter_id, reported) " +
+            "ON t.bucket_day = s.bucket_day AND t.reporter_id = s.reporter_id " +
+            "WHEN MATCHED THEN UPDATE SET reported = t.reported + s.reported " +
+            "WHEN NOT MATCHED THEN INSERT (bucket_day, reporter_id, reported) " +
+            "VALUES (s.bucket_day, s.reporter_id, s.reported)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private volatile Boolean postgres;
+
+    void apply(RollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        boolean pg = isPostgres();
+
+        List<Object[]> incidentRows = new ArrayList<>(deltas.incidents().size());
+        for (Map.Entry<IncidentRollup.Key, long[]> entry : deltas.incidents().entrySet()) {
+            IncidentRollup.Key key = entry.getKey();
+            incidentRows.add(new Object[]{key.getBucketSize().name(), Timestamp.valueOf(key.getBucketStart()),
+                    key.getSeverity().name(), key.getStatus().name(), entry.getValue()[0], entry.getValue()[1],
+                    entry.getValue()[2]});
+        }
+        jdbcTemplate.batchUpdate(pg ? PG_INCIDENT_UPSERT : MERGE_INCIDENT, incidentRows);
+
+        if (!deltas.reporters().isEmpty()) {
+            List<Object[]> reporterRows = new ArrayList<>(deltas.reporters().size());
+            for (Map.Entry<ReporterRollup.Key, long[]> entry : deltas.reporters().entrySet()) {
+                ReporterRollup.Key key = entry.getKey();
+                reporterRows.add(new Object[]{java.sql.Date.valueOf(key.getBucketDay()), key.getReporterId(),
+                        entry.getValue()[0]});
+            }
+            jdbcTemplate.batchUpdate(pg ? PG_REPORTER_UPSERT : MERGE_REPORTER, reporterRows);
+        }
+    }
+
+    /**
+     * Claim the one-time backfill of the rollups: marks it done with the given cutoff and
+     * returns true, or false when it was done already. The marker row stays locked until
+     * the caller's transaction ends, so a node claiming at the same time waits for that
+     * backfill to commit and then finds it done.
+     */
+    boolean claimBackfill(LocalDateTime cutoff) {
+        return jdbcTemplate.update("UPDATE rollup_backfill SET completed = TRUE, cutoff_at = ? "
+                + "WHERE id = 1 AND NOT completed", Timestamp.valueOf(cutoff)) == 1;
+    }
+
+    /**
+     * Creation time up to which the completed backfill counted incidents, or null when
+     * the rollups were populated without one
+     */
+    LocalDateTime backfillCutoff() {
+        return jdbcTemplate.query("SELECT cutoff_at FROM rollup_backfill WHERE id = 1",
+                rs -> rs.next() && rs.getTimestamp(1) != null ? rs.getTimestamp(1).toLocalDateTime() : null);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                result = "PostgreSQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                result = false;
+            }
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,161 @@
+package com.enterprise.incident.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed file store for incident attachments. Each file is kept once under
+ * its SHA-256 ({@code ab/cd/abcd...}), however many attachments refer to it. Uploads
+ * are copied through a fixed direct buffer into a temporary file while being hashed,
+ * then moved into place, so neither the heap nor the database ever holds the content.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path incoming;
+
+    public AttachmentStore(@Value("${incident.attachments.directory:data/attachments}") Path directory) {
+        this.root = directory.toAbsolutePath().normalize();
+        this.incoming = root.resolve("incoming");
+        try {
+            Files.createDirectories(incoming);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create attachment store in " + root, e);
+        }
+    }
+
+    /**
+     * Store the stream's content unless an identical file is already stored. The
+     * stream is read to the end but not closed.
+     */
+    public StoredContent put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temporary = Files.createTempFile(incoming, "upload-", ".part");
+        long size = 0;
+        try {
+            ReadableByteChannel source = Channels.newChannel(content);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(true);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path stored = path(hash);
+            if (Files.exists(stored)) {
+                // Already stored: refresh its age so the sweep keeps it while the new reference commits
+                Files.setLastModifiedTime(stored, FileTime.from(Instant.now()));
+                return new StoredContent(hash, size, false);
+            }
+            Files.createDirectories(stored.getParent());
+            try {
+                moveIntoPlace(temporary, stored);
+            } catch (FileAlreadyExistsException e) {
+                // Stored concurrently by another upload of the same content
+                return new StoredContent(hash, size, false);
+            }
+            return new StoredContent(hash, size, true);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Location of stored content, which may have been removed since it was referenced
+     */
+    public Path path(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 content hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Pass the hash of every stored file last written before the given instant to the consumer
+     */
+    public void forEachStoredBefore(Instant cutoff, Consumer<String> consumer) throws IOException {
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            files.filter(file -> !file.startsWith(incoming))
+                    .filter(file -> SHA256_HEX.matcher(file.getFileName().toString()).matches())
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .forEach(file -> consumer.accept(file.getFileName().toString()));
+        }
+    }
+
+    /**
+     * Remove stored content unless it was written, or stored again, after the cutoff.
+     * Returns whether it was removed.
+     */
+    public boolean deleteIfUnchangedSince(String hash, Instant cutoff) throws IOException {
+        Path stored = path(hash);
+        if (!lastModified(stored).isBefore(cutoff)) {
+            return false;
+        }
+        return Files.deleteIfExists(stored);
+    }
+
+    private static void moveIntoPlace(Path temporary, Path stored) throws IOException {
+        try {
+            // A concurrent upload of the same content may win the race; renaming over it is harmless
+            Files.move(temporary, stored, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, stored);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            // Already removed; never a candidate
+            return Instant.MAX;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hash and size of stored content; {@code created} is false when identical content was already stored
+     */
+    public record StoredContent(String hash, long size, boolean created) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.enterprise.incident.audit;
+
+import com.enterprise.incident.entity.IncidentEvent;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the incident audit trail off the request path. Committed incident changes are
+ * put on a bounded queue and a background thread inserts them in JDBC batches.
+ * <p>
+ * If a batch cannot be stored (database unavailable) or the queue is full, the events are
+ * appended to a local write-ahead file instead and replayed into the database once a
+ * batch succeeds again, and on startup. Replay commits in batches and checkpoints its
+ * progress, so a crash between a batch committing and its checkpoint being written can
+ * duplicate that one batch; events still queued in memory when the process dies are lost.
+ * Events that can never be stored are set aside in a {@code .quarantine} file next to
+ * the write-ahead file for an operator to inspect.
+ */
+@Component
+@Slf4j
+public class IncidentAuditWriter {
+
+    private final IncidentEventRepository incidentEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<IncidentEvent> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Path walFile;
+    private final Counter written;
+    private final Counter spilled;
+
+    private final Object walLock = new Object();
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public IncidentAuditWriter(
+            IncidentEventRepository incidentEventRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${incident.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${incident.audit.batch-size:500}") int batchSize,
+            @Value("${incident.audit.flush-interval:PT1S}") Duration flushInterval,
+            @Value("${incident.audit.wal-file:data/audit/incident-events.wal}") Path walFile
+    ) {
+        this.incidentEventRepository = incidentEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.walFile = walFile;
+        Gauge.builder("incident.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("incident.audit.written")
+                .description("Audit events stored in the database")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("incident.audit.spilled")
+                .description("Audit events appended to the write-ahead file")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::run, "incident-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue the audit record of a committed change. Never blocks the caller.
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        IncidentEvent record = IncidentEvent.from(event);
+        if (!queue.offer(record)) {
+            log.warn("Audit queue full, spilling event for incident {} to {}", event.incidentId(), walFile);
+            spill(List.of(record));
+        }
+    }
+
+    /**
+     * Stop the writer and store whatever is still queued
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<IncidentEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            store(remaining);
+        }
+    }
+
+    private void run() {
+        replay();
+        List<IncidentEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                IncidentEvent first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (store(batch)) {
+                    replay();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in audit writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert one batch, or spill it to the write-ahead file if the database rejects it
+     */
+    private boolean store(List<IncidentEvent> batch) {
+        try {
+            insert(batch);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not store {} audit events ({}), appending them to {}",
+                    batch.size(), e.getMessage(), walFile);
+            spill(batch);
+            return false;
+        }
+    }
+
+    private void insert(List<IncidentEvent> batch) {
+        // Fresh instances: a failed attempt may have assigned ids to the originals
+        List<IncidentEvent> rows = batch.stream().map(IncidentAuditWriter::copy).toList();
+        transactionTemplate.executeWithoutResult(status -> incidentEventRepository.saveAll(rows));
+        written.increment(rows.size());
+    }
+
+    private void spill(List<IncidentEvent> events) {
+        synchronized (walLock) {
+            try {
+                Files.createDirectories(walFile.toAbsolutePath().getParent());
+                try (BufferedWriter out = Files.newBufferedWriter(walFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.DSYNC)) {
+                    for (IncidentEvent event : events) {
+                        out.write(objectMapper.writeValueAsString(copy(event)));
+                        out.newLine();
+                    }
+                }
+                spilled.increment(events.size());
+            } catch (IOException e) {
+                log.error("Could not append {} audit events to {}; they are lost", events.size(), walFile, e);
+            }
+        }
+    }
+
+    /**
+     * Move spilled events from the write-ahead file into the database. The file is streamed
+     * in batches of {@code batchSize}, each committed on its own; the number of lines done
+     * is checkpointed after every batch, so a retry resumes where the last attempt stopped.
+     * Lines that cannot be parsed or that the database rejects outright are moved to the
+     * quarantine file instead of blocking the replay forever.
+     */
+    void replay() {
+        Path replaying = walFile.resolveSibling(walFile.getFileName() + ".replaying");
+        synchronized (walLock) {
+            try {
+                if (Files.exists(walFile) && !Files.exists(replaying)) {
+                    Files.move(walFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.error("Could not rotate audit write-ahead file {}", walFile, e);
+                return;
+            }
+        }
+        if (!Files.exists(replaying)) {
+            return;
+        }
+
+        Path checkpoint = replaying.resolveSibling(replaying.getFileName() + ".done");
+        try (BufferedReader in = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+            long done = Files.exists(checkpoint) ? Long.parseLong(Files.readString(checkpoint).strip()) : 0;
+            long lineNumber = 0;
+            long replayed = 0;
+            List<IncidentEvent> batch = new ArrayList<>(batchSize);
+            List<String> lines = new ArrayList<>(batchSize);
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (++lineNumber <= done || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, IncidentEvent.class));
+                    lines.add(line);
+                } catch (JsonProcessingException e) {
+                    quarantine(line, e.getOriginalMessage());
+                }
+                if (batch.size() == batchSize) {
+                    replayed += replayBatch(batch, lines);
+                    Files.writeString(checkpoint, String.valueOf(lineNumber));
+                }
+            }
+            replayed += replayBatch(batch, lines);
+            Files.delete(replaying);
+            Files.deleteIfExists(checkpoint);
+            log.info("Replayed {} audit events from {}", replayed, replaying);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Audit write-ahead replay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Insert one replayed batch. If the database rejects the batch's data, the events are
+     * retried one at a time and those rejected again are quarantined; any other failure
+     * (database unavailable) propagates and ends this replay attempt.
+     */
+    private int replayBatch(List<IncidentEvent> batch, List<String> lines) {
+        int stored = 0;
+        try {
+            insert(batch);
+            stored = batch.size();
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    insert(List.of(batch.get(i)));
+                    stored++;
+                } catch (DataIntegrityViolationException rejected) {
+                    quarantine(lines.get(i), rejected.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+        lines.clear();
+        return stored;
+    }
+
+    private void quarantine(String line, String reason) {
+        Path quarantine = walFile.resolveSibling(walFile.getFileName() + ".quarantine");
+        log.error("Moving unreplayable audit event to {}: {}", quarantine, reason);
+        try {
+            Files.writeString(quarantine, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.error("Could not quarantine audit event to {}; it is lost: {}", quarantine, line, e);
+        }
+    }
+
+    private static IncidentEvent copy(IncidentEvent event) {
+        return IncidentEvent.builder()
+                .incidentId(event.getIncidentId())
+                .eventType(event.getEventType())
+                .actor(event.getActor())
+                .fromStatus(event.getFromStatus())
+                .toStatus(event.getToStatus())
+                .severity(event.getSeverity())
+                .adminNotes(event.getAdminNotes())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,12 @@
+package com.enterprise.incident.cache;
+
+/**
+ * A cached entity that changed on another node. A null {@code id} stands for every
+ * entity of the type, a null {@code entityName} for every cached entity.
+ */
+public record CacheInvalidation(String entityName, Long id) {
+
+    public static CacheInvalidation all() {
+        return new CacheInvalidation(null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.enterprise.incident.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries second-level cache invalidations between application nodes that share a
+ * database. Without a channel bean every node only sees its own changes and relies on
+ * region expiry for the rest.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Tell the other nodes about a committed change. Must not block the caller on the network.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Receive invalidations published by other nodes (never this node's own)
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
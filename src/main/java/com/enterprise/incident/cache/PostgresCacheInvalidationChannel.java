@@ -0,0 +1,221 @@
+package com.enterprise.incident.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation channel over PostgreSQL LISTEN/NOTIFY, for nodes that share one database
+ * and nothing else. Invalidations are batched into NOTIFY payloads by a sender thread;
+ * a second thread listens on a dedicated connection outside the pool. After the listen
+ * connection is lost and re-established, everything is invalidated, since notifications
+ * sent in between were missed.
+ * <p>
+ * Payload: {@code <node id>;<entity>:<id>,<entity>:<id>,...} where {@code *} stands for a null part.
+ */
+@Component
+@ConditionalOnProperty(name = "incident.cache.invalidation.channel", havingValue = "postgres")
+@Slf4j
+public class PostgresCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final String CHANNEL = "incident_cache_invalidation";
+    // PostgreSQL rejects NOTIFY payloads of 8000 bytes or more
+    private static final int MAX_PAYLOAD = 7000;
+    private static final String ANY = "*";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final Duration pollInterval;
+    private final Duration reconnectDelay;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LinkedBlockingQueue<CacheInvalidation> outbox = new LinkedBlockingQueue<>();
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = true;
+    private Thread sender;
+    private Thread receiver;
+
+    public PostgresCacheInvalidationChannel(
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            @Value("${incident.cache.invalidation.poll-interval:PT0.5S}") Duration pollInterval,
+            @Value("${incident.cache.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollInterval = pollInterval;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    void start() {
+        sender = Thread.ofPlatform().daemon().name("cache-invalidation-sender").start(this::send);
+        receiver = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    /**
+     * Stop listening; the sender announces whatever is still queued before it exits
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        receiver.interrupt();
+        sender.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        outbox.offer(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    private void send() {
+        List<CacheInvalidation> batch = new ArrayList<>();
+        while (running || !outbox.isEmpty()) {
+            try {
+                CacheInvalidation first = outbox.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbox.drainTo(batch);
+                for (String payload : payloads(batch)) {
+                    jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, payload);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Receivers fall back to region expiry for the changes that were not announced
+                log.warn("Could not publish {} cache invalidations: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * NOTIFY payloads announcing {@code batch}, split so none exceeds {@link #MAX_PAYLOAD}
+     */
+    List<String> payloads(List<CacheInvalidation> batch) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append(';');
+        int empty = payload.length();
+        for (CacheInvalidation invalidation : batch) {
+            String entry = (invalidation.entityName() == null ? ANY : invalidation.entityName()) + ':'
+                    + (invalidation.id() == null ? ANY : invalidation.id());
+            if (payload.length() + entry.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(empty);
+            }
+            if (payload.length() > empty) {
+                payload.append(',');
+            }
+            payload.append(entry);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    log.info("Cache invalidation listener reconnected, invalidating all cached entities");
+                    deliver(CacheInvalidation.all());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection: {}", e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Dedicated connection outside the pool: LISTEN only lasts as long as its session
+     */
+    Connection openListenConnection() throws SQLException {
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+    }
+
+    /**
+     * Deliver the invalidations of one NOTIFY payload, unless this node sent it
+     */
+    void receive(String payload) {
+        int separator = payload.indexOf(';');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        for (String entry : payload.substring(separator + 1).split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String entityName = entry.substring(0, colon);
+            String id = entry.substring(colon + 1);
+            try {
+                deliver(new CacheInvalidation(ANY.equals(entityName) ? null : entityName,
+                        ANY.equals(id) ? null : Long.valueOf(id)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed cache invalidation: {}", entry);
+            }
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation listener failed", e);
+            }
+        }
+    }
+}
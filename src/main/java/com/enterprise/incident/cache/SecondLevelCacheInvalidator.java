@@ -0,0 +1,142 @@
+package com.enterprise.incident.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps the second-level caches of several nodes coherent. Committed inserts, updates
+ * and deletes of cached entities are published on the {@link CacheInvalidationChannel};
+ * invalidations from other nodes evict the entity, the collections it owns and all cached
+ * query results, since any change can alter a cached count.
+ * <p>
+ * Bulk JPQL updates and deletes are not announced; other nodes see them once the
+ * affected entries expire.
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheInvalidator
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationChannel channel;
+    private final Counter published;
+    private final Counter received;
+
+    public SecondLevelCacheInvalidator(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<CacheInvalidationChannel> channel,
+            MeterRegistry meterRegistry
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.channel = channel.getIfAvailable();
+        this.published = Counter.builder("incident.cache.invalidations")
+                .tag("direction", "published")
+                .description("Second-level cache invalidations sent to other nodes")
+                .register(meterRegistry);
+        this.received = Counter.builder("incident.cache.invalidations")
+                .tag("direction", "received")
+                .description("Second-level cache invalidations received from other nodes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void register() {
+        if (channel == null) {
+            log.info("No cache invalidation channel configured, second-level cache is local to this node");
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        channel.subscribe(this::evict);
+        log.info("Second-level cache invalidations shared through {}", channel.getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        channel.publish(new CacheInvalidation(persister.getEntityName(), id instanceof Long value ? value : null));
+        published.increment();
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        CacheImplementor cache = sessionFactory.getCache();
+        if (invalidation.entityName() == null) {
+            cache.evictAllRegions();
+        } else if (invalidation.id() == null) {
+            cache.evictEntityData(invalidation.entityName());
+            forEachCachedCollection(sessionFactory, invalidation.entityName(), cache::evictCollectionData);
+        } else {
+            cache.evictEntityData(invalidation.entityName(), invalidation.id());
+            forEachCachedCollection(sessionFactory, invalidation.entityName(),
+                    role -> cache.evictCollectionData(role, invalidation.id()));
+        }
+        cache.evictQueryRegions();
+        received.increment();
+    }
+
+    /**
+     * Cached collections owned by the entity (an incident's attachments), which change
+     * along with their owner
+     */
+    private static void forEachCachedCollection(SessionFactoryImplementor sessionFactory, String entityName,
+                                                Consumer<String> action) {
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                action.accept(collection.getRole());
+            }
+        });
+    }
+}
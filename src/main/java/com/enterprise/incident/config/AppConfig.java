@@ -1,15 +1,49 @@
 package com.enterprise.incident.config;
 
+import com.enterprise.incident.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
+    /**
+     * Delegating encoder: new hashes use the configured algorithm (bcrypt, argon2 or pbkdf2),
+     * existing hashes of any supported algorithm still verify and are upgraded on next login.
+     * Hashing runs on a bounded pool so it cannot starve the request threads.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${incident.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${incident.security.password.bcrypt-strength:12}") int bcryptStrength,
+            @Value("${incident.security.password.hashing.threads:0}") int threads,
+            @Value("${incident.security.password.hashing.queue-capacity:50}") int queueCapacity,
+            @Value("${incident.security.password.hashing.max-wait:PT2S}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before algorithm prefixes were introduced are plain BCrypt
+        delegating.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, poolSize, queueCapacity, maxWait, meterRegistry);
     }
-}
\ No newline at end of file
+}
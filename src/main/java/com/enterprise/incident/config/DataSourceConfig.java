@@ -0,0 +1,92 @@
+package com.enterprise.incident.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConcurrencyLimitedDataSource} in front of the connection pool.
+ * With virtual threads there is no request thread limit any more, so this is what
+ * bounds how many requests wait on the database at the same time.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wraps the auto-configured DataSource
+     */
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? limit(dataSource, environment) : bean;
+            }
+        };
+    }
+
+    /**
+     * Put a limiter in front of a pool, unless limiting is disabled or the DataSource
+     * is already limited (e.g. the replica router, whose pools are limited one by one).
+     * A limit of 0 means the pool's maximum size.
+     */
+    static DataSource limit(DataSource dataSource, Environment environment) {
+        if (isLimited(dataSource)
+                || !environment.getProperty("incident.datasource.concurrency-limit.enabled", Boolean.class, true)) {
+            return dataSource;
+        }
+        int limit = environment.getProperty("incident.datasource.concurrency-limit.permits", Integer.class, 0);
+        if (limit <= 0) {
+            limit = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        }
+        Duration acquireTimeout = environment.getProperty(
+                "incident.datasource.concurrency-limit.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new ConcurrencyLimitedDataSource(dataSource, limit, acquireTimeout);
+    }
+
+    private static boolean isLimited(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gauges for permits in use and callers waiting for a connection, and a timer of the
+     * time spent waiting for a permit (on top of hikaricp.connections.acquire)
+     */
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited;
+            try {
+                if (!dataSource.isWrapperFor(ConcurrencyLimitedDataSource.class)) {
+                    return;
+                }
+                limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("incident.datasource.limiter.active", limited,
+                            l -> l.getLimit() - l.getAvailablePermits())
+                    .description("Connections currently handed out through the concurrency limiter")
+                    .register(registry);
+            Gauge.builder("incident.datasource.limiter.waiting", limited, ConcurrencyLimitedDataSource::getWaitingThreads)
+                    .description("Callers waiting for a database connection permit")
+                    .register(registry);
+            limited.setWaitTimer(Timer.builder("incident.datasource.limiter.wait")
+                    .description("Time spent waiting for a database connection permit")
+                    .register(registry));
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.enterprise.incident.config;
+
+import com.enterprise.incident.metrics.RequestStatementCounter;
+import com.enterprise.incident.metrics.ViewRenderTimer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Hooks the request metrics into Hibernate and Spring MVC. Service methods are timed by
+ * {@code @Timed}, repository calls, Hikari and HTTP requests by Spring Boot; percentiles
+ * are configured under {@code management.metrics.distribution} in application.yaml.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final ViewRenderTimer viewRenderTimer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(viewRenderTimer);
+    }
+
+    /**
+     * Let the request statement counter see every statement Hibernate prepares
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer(RequestStatementCounter requestStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestStatementCounter);
+    }
+}
@@ -0,0 +1,191 @@
+package com.enterprise.incident.config;
+
+import com.enterprise.incident.config.ReplicaRoutingDataSource.Balancing;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-replica routing, active once {@code incident.datasource.replica.nodes} lists at least
+ * one replica. Replaces the auto-configured DataSource with
+ * LazyConnectionDataSourceProxy → ReplicaRoutingDataSource → (primary pool, replica pools).
+ * Each pool gets its own concurrency limiter.
+ * <p>
+ * Replicas are asynchronous: a read-only transaction right after a write may not see it
+ * yet. The lag guard bounds how stale such reads can be, and such reads are never put in
+ * the second-level or query caches, where they would outlive the lag. Lag is checked on a
+ * thread of its own, so a slow replica does not hold up other scheduled work.
+ */
+@Configuration
+@ConditionalOnProperty("incident.datasource.replica.nodes[0].url")
+@Slf4j
+public class ReplicaRoutingConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final ScheduledExecutorService replicaChecks = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        pools.add(primary);
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<ReplicaNode> nodes = binder.bind("incident.datasource.replica.nodes", Bindable.listOf(ReplicaNode.class))
+                .orElse(List.of());
+        for (int i = 0; i < nodes.size(); i++) {
+            ReplicaNode node = nodes.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(node.url());
+            replica.setUsername(node.username() != null ? node.username() : properties.determineUsername());
+            replica.setPassword(node.password() != null ? node.password() : properties.determinePassword());
+            replica.setMaximumPoolSize(node.maximumPoolSize() != null
+                    ? node.maximumPoolSize() : primary.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // Not a bean, so Spring Boot does not bind the pool metrics (hikaricp.*{pool=replica-n})
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            pools.add(replica);
+            replicas.add(DataSourceConfig.limit(replica, environment));
+        }
+
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+                DataSourceConfig.limit(primary, environment),
+                replicas,
+                binder.bind("incident.datasource.replica.balancing", Balancing.class).orElse(Balancing.ROUND_ROBIN),
+                environment.getProperty("incident.datasource.replica.max-lag", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty("incident.datasource.replica.lag-query", ReplicaNode.POSTGRES_LAG_QUERY));
+        long checkInterval = environment.getProperty("incident.datasource.replica.check-interval",
+                Duration.class, Duration.ofSeconds(5)).toMillis();
+        replicaChecks.scheduleWithFixedDelay(() -> {
+            try {
+                router.checkReplicas();
+            } catch (RuntimeException e) {
+                log.warn("Replica lag check failed", e);
+            }
+        }, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    @PreDestroy
+    void closePools() {
+        replicaChecks.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Sessions of read-only transactions never fill the second-level or query caches. Their
+     * rows may come from a lagging replica and would otherwise stay cached for the region's
+     * full time-to-live; entries are cached by read-write transactions instead, which always
+     * use the primary. Entity lookups still read the second-level cache, but queries skip the
+     * query cache altogether: Hibernate 6.4 stores the result of a query cache miss even when
+     * the cache mode only allows reads.
+     */
+    @Bean
+    public TransactionExecutionListener replicaReadCacheMode(EntityManagerFactory entityManagerFactory) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                if (beginFailure == null && transaction.isNewTransaction() && transaction.isReadOnly()
+                        && TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder) {
+                    EntityManager entityManager = holder.getEntityManager();
+                    // Applied by find() as CacheMode.GET
+                    entityManager.setProperty("jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+                    entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                }
+            }
+        };
+    }
+
+    /**
+     * Lag, health and open connections per replica, plus reads that fell back to the primary
+     */
+    @Bean
+    public MeterBinder replicaRoutingMetrics(DataSource dataSource) {
+        return registry -> {
+            ReplicaRoutingDataSource router;
+            try {
+                router = dataSource.unwrap(ReplicaRoutingDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            for (int i = 0; i < router.getReplicaCount(); i++) {
+                int replica = i;
+                String tag = String.valueOf(i);
+                Gauge.builder("incident.datasource.replica.lag", router, r -> r.getLagSeconds(replica))
+                        .tag("replica", tag)
+                        .baseUnit("seconds")
+                        .description("Replication lag measured by the last check")
+                        .register(registry);
+                Gauge.builder("incident.datasource.replica.healthy", router, r -> r.isHealthy(replica) ? 1 : 0)
+                        .tag("replica", tag)
+                        .description("1 while the replica serves read-only transactions")
+                        .register(registry);
+                Gauge.builder("incident.datasource.replica.active", router, r -> r.getActiveConnections(replica))
+                        .tag("replica", tag)
+                        .description("Connections currently open on the replica")
+                        .register(registry);
+            }
+            FunctionCounter.builder("incident.datasource.replica.fallbacks", router, ReplicaRoutingDataSource::getFallbacks)
+                    .description("Read-only connections served by the primary because no replica was usable")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * One replica. Username, password and pool size default to the primary's.
+     */
+    public record ReplicaNode(String url, String username, String password, Integer maximumPoolSize) {
+
+        /**
+         * Seconds since the last replayed transaction, 0 while the replica has replayed
+         * everything it received (an idle primary is not lag)
+         */
+        static final String POSTGRES_LAG_QUERY = """
+                SELECT CASE
+                    WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                END
+                """;
+    }
+}
@@ -0,0 +1,197 @@
+package com.enterprise.incident.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else. Must sit behind a LazyConnectionDataSourceProxy, so the physical
+ * connection is only fetched once the transaction's read-only flag is known.
+ * <p>
+ * A replica is skipped while its last lag check failed or reported more than
+ * {@code maxLag}, and when it cannot hand out a connection; read-only work then
+ * falls back to the primary. Replicas are chosen round-robin or by fewest open
+ * connections.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    Balancing balancing, Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.balancing = balancing;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = choose();
+            if (replica != null) {
+                try {
+                    return replica.open();
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("Replica {} unavailable, using the primary: {}", replicas.indexOf(replica), e.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Measure the lag of every replica and take lagging or unreachable ones out of rotation
+     */
+    public void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+                replica.lagSeconds = lagSeconds;
+                replica.healthy = lagSeconds * 1000 <= maxLag.toMillis();
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} {} (lag {}s)", i, replica.healthy ? "back in rotation" : "taken out of rotation",
+                        replica.lagSeconds);
+            }
+        }
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public boolean isHealthy(int replica) {
+        return replicas.get(replica).healthy;
+    }
+
+    /**
+     * Last measured lag in seconds, NaN if the replica could not be checked
+     */
+    public double getLagSeconds(int replica) {
+        return replicas.get(replica).lagSeconds;
+    }
+
+    public int getActiveConnections(int replica) {
+        return replicas.get(replica).active.get();
+    }
+
+    /**
+     * Read-only connections served by the primary because no replica was usable
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * The primary's limiter and pool are the ones worth reporting on
+     */
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private Replica choose() {
+        int size = replicas.size();
+        if (balancing == Balancing.LEAST_CONNECTIONS) {
+            Replica best = null;
+            for (Replica replica : replicas) {
+                if (replica.healthy && (best == null || replica.active.get() < best.active.get())) {
+                    best = replica;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * How read-only transactions are spread over healthy replicas
+     */
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicInteger active = new AtomicInteger();
+        // Optimistic until the first check, so replicas serve reads right after startup
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private Connection open() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            active.incrementAndGet();
+            AtomicBoolean closed = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                                active.decrementAndGet();
+                            }
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.enterprise.incident.config;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentAttachment;
+import com.enterprise.incident.entity.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for incidents (with their attachments) and users plus
+ * the incident count query cache, held in local Caffeine caches behind JCache. Every region is size-bounded and
+ * entries expire after write, which also bounds staleness if an invalidation from
+ * another node is lost (see {@link com.enterprise.incident.cache.SecondLevelCacheInvalidator}).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            Incident.CACHE_REGION,
+            IncidentAttachment.CACHE_REGION,
+            Incident.ATTACHMENTS_CACHE_REGION,
+            User.CACHE_REGION,
+            Incident.COUNT_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * One cache manager per application context, so test contexts in the same JVM
+     * do not share regions
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${incident.cache.incidents.max-entries:10000}") long incidentEntries,
+            @Value("${incident.cache.incidents.time-to-live:PT10M}") Duration incidentTtl,
+            @Value("${incident.cache.users.max-entries:5000}") long userEntries,
+            @Value("${incident.cache.users.time-to-live:PT30M}") Duration userTtl,
+            @Value("${incident.cache.counts.max-entries:10000}") long countEntries,
+            @Value("${incident.cache.counts.time-to-live:PT1M}") Duration countTtl
+    ) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("incident-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(Incident.CACHE_REGION, region(incidentEntries, incidentTtl));
+        cacheManager.createCache(IncidentAttachment.CACHE_REGION, region(incidentEntries, incidentTtl));
+        cacheManager.createCache(Incident.ATTACHMENTS_CACHE_REGION, region(incidentEntries, incidentTtl));
+        cacheManager.createCache(User.CACHE_REGION, region(userEntries, userTtl));
+        cacheManager.createCache(Incident.COUNT_CACHE_REGION, region(countEntries, countTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(countEntries, countTtl));
+        // Last-change times per table; query results are only valid against these, so they never expire
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(1000, null));
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate instead of letting it create its own
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Hit, miss, put, eviction and size meters per region (cache.gets{cache=incidents,result=hit}, ...)
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                javax.cache.Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+                CaffeineCacheMetrics.monitor(registry,
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), region, "layer", "hibernate");
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (timeToLive != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        }
+        // Hibernate already stores disassembled state; copying it on every read is wasted work
+        configuration.setStoreByValue(false);
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
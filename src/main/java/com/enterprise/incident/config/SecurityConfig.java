@@ -1,5 +1,8 @@
 package com.enterprise.incident.config;
 
+import com.enterprise.incident.security.PrincipalCache;
+import com.enterprise.incident.security.RateLimitFilter;
+import com.enterprise.incident.security.RateLimiter;
 import com.enterprise.incident.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -11,8 +14,17 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.DelegatingAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+import org.springframework.security.web.csrf.CsrfFilter;
 import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.LinkedHashMap;
 
 @Configuration
 @EnableWebSecurity
@@ -23,9 +35,11 @@ public class SecurityConfig {
     private final UserService userService;
     // Inject the encoder from AppConfig instead of defining it here
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RateLimiter rateLimiter;
 
     /**
-     * Authentication provider with custom UserDetailsService
+     * Authentication provider with custom UserDetailsService, fronted by the principal cache
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
@@ -33,6 +47,9 @@ public class SecurityConfig {
         provider.setUserDetailsService(userService);
         // Use the injected field 'passwordEncoder'
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(principalCache);
+        // Re-hash passwords stored with an outdated algorithm or work factor on login
+        provider.setUserDetailsPasswordService(userService);
         return provider;
     }
 
@@ -41,14 +58,39 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * Unauthenticated API and actuator calls get a Basic challenge; everything else goes to
+     * the login page
+     */
+    private AuthenticationEntryPoint entryPoint() {
+        LinkedHashMap<RequestMatcher, AuthenticationEntryPoint> entryPoints = new LinkedHashMap<>();
+        entryPoints.put(new AntPathRequestMatcher("/api/**"), apiEntryPoint());
+        entryPoints.put(new AntPathRequestMatcher("/actuator/**"), apiEntryPoint());
+        DelegatingAuthenticationEntryPoint entryPoint = new DelegatingAuthenticationEntryPoint(entryPoints);
+        entryPoint.setDefaultEntryPoint(new LoginUrlAuthenticationEntryPoint("/login"));
+        return entryPoint;
+    }
+
+    private BasicAuthenticationEntryPoint apiEntryPoint() {
+        BasicAuthenticationEntryPoint entryPoint = new BasicAuthenticationEntryPoint();
+        entryPoint.setRealmName("incident-api");
+        return entryPoint;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authenticationProvider(authenticationProvider())
+                // Before the CSRF check, whose getParameter call would make Tomcat parse (and spool)
+                // a multipart upload first, and so before form login and HTTP Basic password hashing.
+                // Not a bean: Spring Boot would also register it as a plain servlet filter.
+                .addFilterBefore(new RateLimitFilter(rateLimiter), CsrfFilter.class)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/login", "/register", "/error/**", "/css/**", "/js/**", "/images/**").permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/dashboard", "/incidents/**").hasAnyRole("USER", "ADMIN")
+                        // Including /actuator/prometheus: the scraper sends HTTP Basic credentials
+                        .requestMatchers("/actuator/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -65,8 +107,13 @@ public class SecurityConfig {
                         .deleteCookies("JSESSIONID")
                         .permitAll()
                 )
+                // API clients (e.g. bulk ingestion) authenticate per request with HTTP Basic
+                .httpBasic(basic -> basic
+                        .authenticationEntryPoint(apiEntryPoint())
+                )
                 .exceptionHandling(ex -> ex
                         .accessDeniedPage("/error/403")
+                        .authenticationEntryPoint(entryPoint())
                 )
                 .sessionManagement(session -> session
                         .maximumSessions(1)
@@ -0,0 +1,46 @@
+package com.enterprise.incident.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * Serves /css, /js and /images under content-hashed URLs (app-&lt;md5&gt;.css) with the
+ * {@code spring.web.resources} cache settings from application.yaml. Spring Boot's own
+ * handler does the same but only answers If-Modified-Since; these handlers also answer
+ * If-None-Match with a 304, using the content hash as ETag.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebResourceConfig implements WebMvcConfigurer {
+
+    private static final String[] ASSET_DIRECTORIES = {"css", "js", "images"};
+
+    private final WebProperties webProperties;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        WebProperties.Resources resources = webProperties.getResources();
+        for (String directory : ASSET_DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(resources.getCache().getCachecontrol().toHttpCacheControl())
+                    .setEtagGenerator(WebResourceConfig::versionEtag)
+                    .resourceChain(resources.getChain().isCache())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    /**
+     * The weak ETag the version resolver derives from the content hash; unversioned URLs
+     * get none and are revalidated by Last-Modified
+     */
+    private static String versionEtag(Resource resource) {
+        return resource instanceof HttpResource versioned ? versioned.getResponseHeaders().getETag() : null;
+    }
+}
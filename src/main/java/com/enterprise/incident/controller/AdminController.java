@@ -1,19 +1,39 @@
 package com.enterprise.incident.controller;
 
+import com.enterprise.incident.dto.IncidentFilter;
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.dto.KeysetPage;
 import com.enterprise.incident.entity.Incident;
-import com.enterprise.incident.entity.User;
+import com.enterprise.incident.entity.IncidentRollup.BucketSize;
+import com.enterprise.incident.feed.IncidentFeedBus;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentAnalyticsService;
+import com.enterprise.incident.service.IncidentExportService;
+import com.enterprise.incident.service.IncidentExportService.ExportFormat;
 import com.enterprise.incident.service.IncidentService;
-import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controller for admin-only operations
@@ -25,30 +45,191 @@ import java.util.List;
 @Slf4j
 public class AdminController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final DateTimeFormatter EXPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
     private final IncidentService incidentService;
+    private final IncidentExportService incidentExportService;
+    private final IncidentFeedBus incidentFeedBus;
+    private final IncidentAnalyticsService incidentAnalyticsService;
 
     /**
-     * View all incidents (admin only)
+     * View all incidents (admin only), filtered and sorted, one keyset page at a time
      */
     @GetMapping("/incidents")
-    public String viewAllIncidents(@AuthenticationPrincipal User admin, Model model) {
+    public String viewAllIncidents(
+            @ModelAttribute("filter") IncidentFilter filter,
+            BindingResult filterBinding,
+            @RequestParam(value = "after", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after,
+            @RequestParam(value = "afterId", required = false) Long afterId,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal admin,
+            Model model
+    ) {
         log.info("Admin {} viewing all incidents", admin.getUsername());
 
-        List<Incident> incidents = incidentService.getAllIncidents();
-        model.addAttribute("incidents", incidents);
+        if (filter == null || filterBinding.hasErrors()) {
+            filter = IncidentFilter.none();
+            model.addAttribute("filter", filter);
+            model.addAttribute("error", "The filter could not be applied; showing all incidents.");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean firstPage = after == null || afterId == null;
+        KeysetPage<IncidentSummary> page = incidentService.getIncidentPage(filter, after, afterId, pageSize);
+        model.addAttribute("incidents", page.content());
+        model.addAttribute("page", page);
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("firstPage", firstPage);
+        // New incidents are only prepended where they are known to belong: the top of the unfiltered list
+        model.addAttribute("liveInsert", firstPage && !filter.isActive()
+                && filter.sort() == IncidentFilter.SortOrder.NEWEST);
+        model.addAttribute("firstPageUrl", listUrl(filter, pageSize).toUriString());
+        if (page.hasNext()) {
+            model.addAttribute("nextPageUrl", listUrl(filter, pageSize)
+                    .queryParam("after", page.nextCreatedAt())
+                    .queryParam("afterId", page.nextId())
+                    .toUriString());
+        }
         model.addAttribute("statuses", Incident.Status.values());
         model.addAttribute("severities", Incident.Severity.values());
+        model.addAttribute("sortOrders", IncidentFilter.SortOrder.values());
 
         return "admin/incidents";
     }
 
+    private static UriComponentsBuilder listUrl(IncidentFilter filter, int pageSize) {
+        return UriComponentsBuilder.fromPath("/admin/incidents")
+                .queryParams(filter.toQueryParams())
+                .queryParam("size", pageSize)
+                .encode();
+    }
+
+    /**
+     * Live feed of incident changes as server-sent events, so open consoles
+     * do not need to poll the incident list
+     */
+    @GetMapping(value = "/incidents/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamIncidents(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @AuthenticationPrincipal UserPrincipal admin
+    ) {
+        return incidentFeedBus.subscribe(admin.getUsername(), lastEventId);
+    }
+
+    /**
+     * Full-text search across all incidents (admin only)
+     */
+    @GetMapping("/incidents/search")
+    public String searchIncidents(
+            @RequestParam(value = "q", defaultValue = "") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal admin,
+            Model model
+    ) {
+        log.info("Admin {} searching incidents", admin.getUsername());
+
+        model.addAttribute("query", query);
+        if (!query.isBlank()) {
+            int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            model.addAttribute("results", incidentService.searchIncidents(query.trim(), Math.max(page, 0), pageSize));
+        }
+        return "admin/search";
+    }
+
+    /**
+     * Download every incident as CSV or NDJSON, optionally gzipped. The body is
+     * streamed from a database cursor while it is being written.
+     */
+    @GetMapping("/incidents/export")
+    public ResponseEntity<StreamingResponseBody> exportIncidents(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserPrincipal admin
+    ) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Admin {} exporting all incidents as {}{}", admin.getUsername(), exportFormat, gzip ? " (gzip)" : "");
+
+        String filename = "incidents-" + LocalDateTime.now().format(EXPORT_TIMESTAMP) + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024)) {
+                    incidentExportService.export(exportFormat, compressed);
+                }
+            } else {
+                incidentExportService.export(exportFormat, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(gzip ? filename + ".gz" : filename)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Audit trail of one incident
+     */
+    @GetMapping("/incidents/{id}/history")
+    public String viewIncidentHistory(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal admin,
+            Model model
+    ) {
+        log.info("Admin {} viewing history of incident {}", admin.getUsername(), id);
+
+        model.addAttribute("incidentId", id);
+        model.addAttribute("events", incidentService.getIncidentHistory(id));
+        return "admin/history";
+    }
+
+    /**
+     * Incident trends over a range of days, from the analytics rollups.
+     * Defaults to the last 30 days by day.
+     */
+    @GetMapping("/analytics")
+    public String viewAnalytics(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", defaultValue = "DAY") BucketSize granularity,
+            @RequestParam(value = "top", defaultValue = "10") int top,
+            @AuthenticationPrincipal UserPrincipal admin,
+            Model model
+    ) {
+        log.info("Admin {} viewing incident analytics", admin.getUsername());
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        model.addAttribute("trends", incidentAnalyticsService.getTrends(
+                start, end, granularity, Math.max(0, Math.min(top, 100))));
+        model.addAttribute("statuses", Incident.Status.values());
+        model.addAttribute("severities", Incident.Severity.values());
+        model.addAttribute("granularities", BucketSize.values());
+        return "admin/analytics";
+    }
+
     /**
      * Show edit incident form
      */
     @GetMapping("/incidents/edit/{id}")
     public String showEditIncidentForm(
             @PathVariable Long id,
-            @AuthenticationPrincipal User admin,
+            @AuthenticationPrincipal UserPrincipal admin,
             Model model
     ) {
         try {
@@ -72,11 +253,11 @@ public class AdminController {
             @PathVariable Long id,
             @RequestParam("status") Incident.Status status,
             @RequestParam(value = "adminNotes", required = false) String adminNotes,
-            @AuthenticationPrincipal User admin,
+            @AuthenticationPrincipal UserPrincipal admin,
             RedirectAttributes redirectAttributes
     ) {
         try {
-            incidentService.updateIncident(id, status, adminNotes);
+            incidentService.updateIncident(id, status, adminNotes, admin);
             redirectAttributes.addFlashAttribute("message",
                     "Incident updated successfully");
             log.info("Admin {} updated incident {}", admin.getUsername(), id);
@@ -96,11 +277,11 @@ public class AdminController {
     @PostMapping("/incidents/delete/{id}")
     public String deleteIncident(
             @PathVariable Long id,
-            @AuthenticationPrincipal User admin,
+            @AuthenticationPrincipal UserPrincipal admin,
             RedirectAttributes redirectAttributes
     ) {
         try {
-            incidentService.deleteIncident(id);
+            incidentService.deleteIncident(id, admin);
             redirectAttributes.addFlashAttribute("message",
                     "Incident deleted successfully");
             log.info("Admin {} deleted incident {}", admin.getUsername(), id);
@@ -0,0 +1,198 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.entity.IncidentAttachment;
+import com.enterprise.incident.exception.AttachmentQuotaExceededException;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentAttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Upload and download of incident attachments, for the reporter and admins
+ */
+@Controller
+@RequestMapping("/incidents/{id}/attachments")
+@RequiredArgsConstructor
+@Slf4j
+public class AttachmentController {
+
+    // Tomcat request attributes: when supported, the connector copies the file to the
+    // socket with sendfile(2) after the request returns instead of the servlet writing it
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final IncidentAttachmentService attachmentService;
+
+    /**
+     * Attach one or more files to an incident
+     */
+    @PostMapping
+    public String uploadAttachments(
+            @PathVariable Long id,
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @AuthenticationPrincipal UserPrincipal user,
+            RedirectAttributes redirectAttributes
+    ) throws IOException {
+        int attached;
+        try {
+            attached = attachAll(attachmentService, id, files, user);
+        } catch (AttachmentQuotaExceededException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/incidents/" + id;
+        }
+        if (attached == 0) {
+            redirectAttributes.addFlashAttribute("error", "Choose at least one file to attach.");
+        } else {
+            redirectAttributes.addFlashAttribute("message",
+                    attached == 1 ? "1 file attached." : attached + " files attached.");
+        }
+        return "redirect:/incidents/" + id;
+    }
+
+    /**
+     * Download an attachment. Supports single byte ranges (resumed and partial downloads)
+     * and revalidation by ETag, which is the content hash.
+     */
+    @GetMapping("/{attachmentId}")
+    public void downloadAttachment(
+            @PathVariable Long id,
+            @PathVariable Long attachmentId,
+            @AuthenticationPrincipal UserPrincipal user,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        IncidentAttachmentService.AttachmentContent content = attachmentService.getAttachmentContent(id, attachmentId, user);
+        IncidentAttachment attachment = content.attachment();
+        Path file = content.file();
+        long length = Files.size(file);
+        String etag = "\"" + attachment.getContentHash() + "\"";
+
+        // Browsers may keep a private copy but must revalidate it, since access can be revoked
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        response.setContentType(attachment.getContentType());
+        String fileName = attachment.getFileName();
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)) {
+            disposition.filename(fileName);
+        } else {
+            disposition.filename(fileName, StandardCharsets.UTF_8);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || end < start) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Attach every non-empty file of a multipart request; returns how many were attached.
+     * The request's total is checked against the quota first, so it is refused as a whole
+     * rather than partly stored.
+     */
+    static int attachAll(IncidentAttachmentService attachmentService, Long incidentId,
+                         List<MultipartFile> files, UserPrincipal user) throws IOException {
+        int attached = 0;
+        if (files == null || files.stream().allMatch(MultipartFile::isEmpty)) {
+            return attached;
+        }
+        attachmentService.checkQuota(incidentId, files.stream().mapToLong(MultipartFile::getSize).sum(), user);
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                continue;
+            }
+            try (InputStream in = file.getInputStream()) {
+                attachmentService.attach(incidentId, file.getOriginalFilename(), file.getContentType(),
+                        file.getSize(), in, user);
+            }
+            attached++;
+        }
+        return attached;
+    }
+
+    /**
+     * The single byte range to serve, or null for the whole file: several ranges,
+     * a malformed header or an If-Range validator that no longer matches all fall
+     * back to a full response
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header: {}", header);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Revalidation of rendered pages by ETag, checked before the page's data is loaded or its
+ * template rendered. The ETag digests what the page shows together with the session (whose
+ * CSRF token the page's forms carry), the user and this process, so a new login, a role
+ * change or a restart never revalidates an old copy. Pages with flash messages are always
+ * rendered. Browsers may keep a private copy but must revalidate it on every use.
+ * <p>
+ * No Last-Modified is sent: deletions and changes to related incidents (the similar
+ * incidents on an incident page, say) alter a page without leaving a newer timestamp, so
+ * If-Modified-Since could confirm an outdated copy.
+ */
+final class ConditionalPages {
+
+    private static final String INSTANCE = UUID.randomUUID().toString();
+
+    private ConditionalPages() {
+    }
+
+    /**
+     * True when the client's copy is current and a 304 has been prepared, in which case the
+     * handler returns without rendering
+     */
+    static boolean notModified(HttpServletRequest request, HttpServletResponse response, UserPrincipal user,
+                               Object... state) {
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            return false;
+        }
+
+        StringBuilder key = new StringBuilder(INSTANCE)
+                .append('|').append(request.getSession().getId())
+                .append('|').append(user.getId())
+                .append('|').append(user.getAuthorities());
+        for (Object part : state) {
+            key.append('|').append(part);
+        }
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
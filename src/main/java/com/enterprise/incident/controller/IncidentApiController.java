@@ -0,0 +1,68 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.dto.BulkIngestResult;
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentIngestService;
+import com.enterprise.incident.service.IncidentService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * JSON API for incidents
+ */
+@RestController
+@RequestMapping("/api/incidents")
+@RequiredArgsConstructor
+public class IncidentApiController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final IncidentService incidentService;
+    private final IncidentIngestService incidentIngestService;
+
+    /**
+     * Ranked full-text search (admin only)
+     */
+    @GetMapping("/search")
+    public Page<IncidentSummary> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size
+    ) {
+        return incidentService.searchIncidents(query.trim(), Math.max(page, 0),
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Bulk-create incidents from a JSON array or NDJSON body. Invalid items are
+     * skipped and reported; valid ones are stored in chunked transactions.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<BulkIngestResult> bulkCreate(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal user
+    ) throws IOException {
+        BulkIngestResult result = MediaType.valueOf(request.getContentType()).isCompatibleWith(MediaType.valueOf(NDJSON))
+                ? incidentIngestService.ingestNdjson(request.getInputStream(), user)
+                : incidentIngestService.ingestJsonArray(request.getInputStream(), user);
+
+        if (result.accepted() == 0 && !result.errors().isEmpty()) {
+            return ResponseEntity.badRequest().body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,9 +1,16 @@
 package com.enterprise.incident.controller;
 
 import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.dto.IncidentSummary;
 import com.enterprise.incident.entity.Incident;
-import com.enterprise.incident.entity.User;
+import com.enterprise.incident.entity.IncidentAttachment;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentAttachmentService;
+import com.enterprise.incident.service.IncidentChangeVersions;
 import com.enterprise.incident.service.IncidentService;
+import com.enterprise.incident.similarity.SimilarIncident;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +19,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
@@ -22,24 +30,46 @@ import java.util.List;
 public class UserController {
 
     private final IncidentService incidentService;
+    private final IncidentAttachmentService attachmentService;
+    private final IncidentChangeVersions changeVersions;
 
     @GetMapping("/dashboard")
-    public String dashboard(@AuthenticationPrincipal User user, Model model) {
+    public String dashboard(
+            @AuthenticationPrincipal UserPrincipal user,
+            Model model,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
         log.info("User {} accessing dashboard", user.getUsername());
 
         IncidentService.IncidentStatistics stats = incidentService.getStatistics(user);
+        if (ConditionalPages.notModified(request, response, user, stats)) {
+            return null;
+        }
         model.addAttribute("stats", stats);
         model.addAttribute("user", user);
-        model.addAttribute("isAdmin", user.getRole().equals(User.Role.ROLE_ADMIN));
+        model.addAttribute("isAdmin", user.isAdmin());
 
         return "dashboard";
     }
 
+    /**
+     * The user's incidents. Revalidated against their change version, so an unchanged
+     * list costs no query.
+     */
     @GetMapping("/incidents/my")
-    public String myIncidents(@AuthenticationPrincipal User user, Model model) {
+    public String myIncidents(
+            @AuthenticationPrincipal UserPrincipal user,
+            Model model,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
         log.info("User {} viewing their incidents", user.getUsername());
 
-        List<Incident> incidents = incidentService.getIncidentsByUser(user);
+        if (ConditionalPages.notModified(request, response, user, changeVersions.forReporter(user.getId()))) {
+            return null;
+        }
+        List<IncidentSummary> incidents = incidentService.getIncidentsByUser(user);
         model.addAttribute("incidents", incidents);
         model.addAttribute("user", user);
 
@@ -57,7 +87,8 @@ public class UserController {
     public String createIncident(
             @Valid @ModelAttribute("incidentDto") IncidentDto dto,
             BindingResult result,
-            @AuthenticationPrincipal User user,
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            @AuthenticationPrincipal UserPrincipal user,
             RedirectAttributes redirectAttributes,
             Model model
     ) {
@@ -67,31 +98,68 @@ public class UserController {
             return "incidents/create";
         }
 
+        Incident incident;
         try {
-            Incident incident = incidentService.createIncident(dto, user);
-            redirectAttributes.addFlashAttribute("message",
-                    "Incident created successfully with ID: " + incident.getId());
+            incident = incidentService.createIncident(dto, user);
             log.info("Incident created: ID={}, User={}", incident.getId(), user.getUsername());
-            return "redirect:/incidents/my";
         } catch (Exception e) {
             log.error("Error creating incident for user: {}", user.getUsername(), e);
             model.addAttribute("error", "Failed to create incident: " + e.getMessage());
             model.addAttribute("severities", Incident.Severity.values());
             return "incidents/create";
         }
+
+        try {
+            AttachmentController.attachAll(attachmentService, incident.getId(), files, user);
+        } catch (Exception e) {
+            // The incident is kept; files can be attached again from its page
+            log.error("Error attaching files to incident {}", incident.getId(), e);
+            redirectAttributes.addFlashAttribute("error",
+                    "Incident " + incident.getId() + " was created, but its attachments could not be stored. "
+                            + "Please attach them again from the incident page.");
+            return "redirect:/incidents/" + incident.getId();
+        }
+
+        // Likely duplicates are flagged on the new incident's page, which lists them
+        IncidentService.SimilarIncidents similar = incidentService.getSimilarIncidents(incident, user);
+        if (!similar.isEmpty()) {
+            log.info("Incident {} looks like a duplicate of {}", incident.getId(),
+                    similar.incidents().stream().map(SimilarIncident::id).toList());
+            redirectAttributes.addFlashAttribute("message",
+                    "Incident created successfully with ID: " + incident.getId() + ". It looks similar to "
+                            + (similar.total() == 1 ? "1 incident that was" : similar.total() + " incidents that were")
+                            + " already reported.");
+            return "redirect:/incidents/" + incident.getId();
+        }
+        redirectAttributes.addFlashAttribute("message",
+                "Incident created successfully with ID: " + incident.getId());
+        return "redirect:/incidents/my";
     }
 
+    /**
+     * One incident. Revalidated by its last update, attachments and similar incidents.
+     */
     @GetMapping("/incidents/{id}")
     public String viewIncident(
             @PathVariable Long id,
-            @AuthenticationPrincipal User user,
-            Model model
+            @AuthenticationPrincipal UserPrincipal user,
+            Model model,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
         try {
             Incident incident = incidentService.getIncidentById(id, user);
+            IncidentService.SimilarIncidents similar = incidentService.getSimilarIncidents(incident, user);
+            List<Long> attachmentIds = incident.getAttachments().stream().map(IncidentAttachment::getId).toList();
+            if (ConditionalPages.notModified(request, response, user,
+                    incident.getUpdatedAt(), attachmentIds, similar)) {
+                return null;
+            }
+
             model.addAttribute("incident", incident);
             model.addAttribute("isOwner", incident.getReportedBy().getId().equals(user.getId()));
-            model.addAttribute("isAdmin", user.getRole().equals(User.Role.ROLE_ADMIN));
+            model.addAttribute("isAdmin", user.isAdmin());
+            model.addAttribute("similar", similar);
             return "incidents/view";
         } catch (Exception e) {
             log.error("Error viewing incident {}: {}", id, e.getMessage());
@@ -0,0 +1,15 @@
+package com.enterprise.incident.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk incident ingestion request
+ */
+public record BulkIngestResult(
+        long accepted,
+        long rejected,
+        List<String> errors,
+        long elapsedMillis,
+        double incidentsPerSecond
+) {
+}
@@ -0,0 +1,96 @@
+package com.enterprise.incident.dto;
+
+import com.enterprise.incident.entity.Incident;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filter and sort order of the admin incident list, bound from the query string
+ * ({@code ?status=OPEN&status=IN_PROGRESS&severity=HIGH&reporter=alice&from=2024-01-01&sort=OLDEST}).
+ * Empty sets and null fields do not restrict the list; {@code from} and {@code to} are inclusive days.
+ */
+public record IncidentFilter(
+        Set<Incident.Status> status,
+        Set<Incident.Severity> severity,
+        String reporter,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        SortOrder sort
+) {
+
+    public IncidentFilter {
+        status = copyOf(status, Incident.Status.class);
+        severity = copyOf(severity, Incident.Severity.class);
+        reporter = reporter == null || reporter.isBlank() ? null : reporter.trim();
+        sort = sort == null ? SortOrder.NEWEST : sort;
+    }
+
+    /**
+     * No restrictions, newest first
+     */
+    public static IncidentFilter none() {
+        return new IncidentFilter(null, null, null, null, null, null);
+    }
+
+    /**
+     * Whether any field narrows the list down
+     */
+    public boolean isActive() {
+        return !status.isEmpty() || !severity.isEmpty() || reporter != null || from != null || to != null;
+    }
+
+    /**
+     * The filter as query parameters, for links that must keep it (pagination)
+     */
+    public MultiValueMap<String, String> toQueryParams() {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        status.forEach(value -> params.add("status", value.name()));
+        severity.forEach(value -> params.add("severity", value.name()));
+        if (reporter != null) {
+            params.add("reporter", reporter);
+        }
+        if (from != null) {
+            params.add("from", from.toString());
+        }
+        if (to != null) {
+            params.add("to", to.toString());
+        }
+        if (sort != SortOrder.NEWEST) {
+            params.add("sort", sort.name());
+        }
+        return params;
+    }
+
+    private static <E extends Enum<E>> Set<E> copyOf(Set<E> values, Class<E> type) {
+        // Empty query values ("status=") bind as null elements
+        Set<E> copy = EnumSet.noneOf(type);
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(copy::add);
+        }
+        return copy;
+    }
+
+    /**
+     * Orderings the list can be keyset-paginated by; both follow (createdAt, id)
+     */
+    public enum SortOrder {
+        NEWEST("Newest first"),
+        OLDEST("Oldest first");
+
+        private final String displayName;
+
+        SortOrder(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
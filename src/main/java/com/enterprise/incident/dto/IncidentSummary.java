@@ -0,0 +1,26 @@
+package com.enterprise.incident.dto;
+
+import com.enterprise.incident.entity.Incident;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an incident for list views.
+ * Leaves out the description and admin notes TEXT columns.
+ */
+public interface IncidentSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    Incident.Severity getSeverity();
+
+    Incident.Status getStatus();
+
+    String getReporterUsername();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,19 @@
+package com.enterprise.incident.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. The cursor of the next page is the
+ * (createdAt, id) of the last row on this page; both are null on the last page.
+ */
+public record KeysetPage<T>(
+        List<T> content,
+        LocalDateTime nextCreatedAt,
+        Long nextId
+) {
+
+    public boolean hasNext() {
+        return nextId != null;
+    }
+}
@@ -4,29 +4,66 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Incident entity representing security incidents reported in the system.
  * Tracks lifecycle from creation through resolution.
+ * <p>
+ * The indexes are created by the Flyway migrations and listed here for reference; on
+ * PostgreSQL there is also a partial index over open and in-progress incidents.
  */
 @Entity
 @Table(name = "incidents", indexes = {
-        @Index(name = "idx_status", columnList = "status"),
-        @Index(name = "idx_severity", columnList = "severity"),
-        @Index(name = "idx_reported_by", columnList = "reported_by_id"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_incidents_reporter_created", columnList = "reported_by_id, created_at DESC, id DESC"),
+        @Index(name = "idx_incidents_status_created", columnList = "status, created_at DESC, id DESC"),
+        @Index(name = "idx_incidents_severity_created", columnList = "severity, created_at DESC, id DESC"),
+        @Index(name = "idx_incidents_created", columnList = "created_at DESC, id DESC")
 })
+@NamedEntityGraph(name = Incident.WITH_REPORTER, attributeNodes = {
+        @NamedAttributeNode("reportedBy"),
+        @NamedAttributeNode("attachments")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Incident.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Incident {
 
+    /**
+     * Fetch plan for pages that display the reporter and attachments alongside the incident
+     */
+    public static final String WITH_REPORTER = "Incident.withReporter";
+
+    /**
+     * Second-level cache region of incident entities
+     */
+    public static final String CACHE_REGION = "incidents";
+
+    /**
+     * Second-level cache region of each incident's attachment list
+     */
+    public static final String ATTACHMENTS_CACHE_REGION = "incident-attachment-lists";
+
+    /**
+     * Query cache region of incident count queries
+     */
+    public static final String COUNT_CACHE_REGION = "incident-counts";
+
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_seq")
+    @SequenceGenerator(name = "incident_seq", sequenceName = "incidents_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -47,16 +84,34 @@ public class Incident {
     @Column(columnDefinition = "TEXT")
     private String adminNotes;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "reported_by_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User reportedBy;
 
+    /**
+     * Evidence files, oldest first; removed with the incident
+     */
+    @OneToMany(mappedBy = "incident", cascade = CascadeType.REMOVE)
+    @OrderBy("id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ATTACHMENTS_CACHE_REGION)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private List<IncidentAttachment> attachments = new ArrayList<>();
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * When the incident last moved to RESOLVED; cleared if it is reopened
+     */
+    private LocalDateTime resolvedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,78 @@
+package com.enterprise.incident.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+/**
+ * File attached to an incident as evidence. Only metadata is kept in the database; the
+ * content lives in the attachment store under {@code contentHash}, shared by every
+ * attachment with the same bytes.
+ */
+@Entity
+@Table(name = "incident_attachments", indexes = {
+        @Index(name = "idx_incident_attachments_incident", columnList = "incident_id, id"),
+        @Index(name = "idx_incident_attachments_content", columnList = "content_hash"),
+        @Index(name = "idx_incident_attachments_uploader", columnList = "uploaded_by, size_bytes")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IncidentAttachment.CACHE_REGION)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentAttachment {
+
+    /**
+     * Second-level cache region of attachment entities
+     */
+    public static final String CACHE_REGION = "incident-attachments";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_attachment_seq")
+    @SequenceGenerator(name = "incident_attachment_seq", sequenceName = "incident_attachments_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "incident_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Incident incident;
+
+    /**
+     * Name the file was uploaded with, without any directory part
+     */
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    /**
+     * Lower-case hex SHA-256 of the content
+     */
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, length = 50)
+    private String uploadedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,71 @@
+package com.enterprise.incident.entity;
+
+import com.enterprise.incident.event.IncidentChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only audit record of one incident state transition. Rows are never updated
+ * and outlive the incident they describe, so there is no foreign key to incidents.
+ */
+@Entity
+@Table(name = "incident_events", indexes = {
+        @Index(name = "idx_incident_events_incident", columnList = "incident_id, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_event_seq")
+    @SequenceGenerator(name = "incident_event_seq", sequenceName = "incident_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "incident_id", nullable = false, updatable = false)
+    private Long incidentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private IncidentChangedEvent.Type eventType;
+
+    @Column(nullable = false, updatable = false, length = 50)
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false, length = 20)
+    private Incident.Status fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false, length = 20)
+    private Incident.Status toStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private Incident.Severity severity;
+
+    @Column(updatable = false, columnDefinition = "TEXT")
+    private String adminNotes;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public static IncidentEvent from(IncidentChangedEvent event) {
+        return IncidentEvent.builder()
+                .incidentId(event.incidentId())
+                .eventType(event.type())
+                .actor(event.actor())
+                .fromStatus(event.previousStatus())
+                .toStatus(event.status())
+                .severity(event.severity())
+                .adminNotes(event.adminNotes())
+                .occurredAt(event.occurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.enterprise.incident.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Pre-aggregated incident activity per time bucket, severity and status.
+ * {@code entered} counts incidents that moved into the status during the bucket
+ * (new and reopened incidents enter OPEN); {@code created} counts only the new ones and
+ * is zero outside OPEN rows. For RESOLVED rows {@code resolutionSeconds} sums the time
+ * from creation to resolution. Maintained incrementally as incidents change.
+ */
+@Entity
+@Table(name = "incident_rollups")
+@IdClass(IncidentRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket_size", length = 10)
+    private BucketSize bucketSize;
+
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Incident.Severity severity;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Incident.Status status;
+
+    @Column(nullable = false)
+    private long entered;
+
+    @Column(nullable = false)
+    private long created;
+
+    @Column(name = "resolution_seconds", nullable = false)
+    private long resolutionSeconds;
+
+    /**
+     * Width of a rollup bucket
+     */
+    public enum BucketSize {
+        HOUR,
+        DAY;
+
+        public LocalDateTime truncate(LocalDateTime time) {
+            return this == HOUR ? time.withMinute(0).withSecond(0).withNano(0) : time.toLocalDate().atStartOfDay();
+        }
+    }
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private BucketSize bucketSize;
+        private LocalDateTime bucketStart;
+        private Incident.Severity severity;
+        private Incident.Status status;
+    }
+}
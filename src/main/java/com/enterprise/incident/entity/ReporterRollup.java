@@ -0,0 +1,43 @@
+package com.enterprise.incident.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Incidents reported per user per day, for top-reporter rankings
+ */
+@Entity
+@Table(name = "reporter_rollups")
+@IdClass(ReporterRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReporterRollup {
+
+    @Id
+    @Column(name = "bucket_day")
+    private LocalDate bucketDay;
+
+    @Id
+    @Column(name = "reporter_id")
+    private Long reporterId;
+
+    @Column(nullable = false)
+    private long reported;
+
+    /**
+     * Composite primary key
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate bucketDay;
+        private Long reporterId;
+    }
+}
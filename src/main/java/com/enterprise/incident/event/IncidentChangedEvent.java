@@ -0,0 +1,57 @@
+package com.enterprise.incident.event;
+
+import com.enterprise.incident.entity.Incident;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by IncidentService whenever an incident is created, updated or deleted.
+ * Carries enough state for listeners to adjust derived data without reloading the row,
+ * which keeps bulk ingestion free of per-incident queries after commit.
+ * {@code adminNotes} is only set when an update changed the notes. The reporter of a
+ * created incident is the actor, so its username is not read from the (lazy) reporter.
+ */
+public record IncidentChangedEvent(
+        Type type,
+        Long incidentId,
+        Long reporterId,
+        String reporterUsername,
+        Incident.Severity severity,
+        Incident.Status previousStatus,
+        Incident.Status status,
+        String title,
+        String description,
+        String actor,
+        String adminNotes,
+        LocalDateTime incidentCreatedAt,
+        LocalDateTime occurredAt
+) {
+
+    public static IncidentChangedEvent created(Incident incident, String actor) {
+        return new IncidentChangedEvent(Type.CREATED, incident.getId(), incident.getReportedBy().getId(), actor,
+                incident.getSeverity(), null, incident.getStatus(), incident.getTitle(), incident.getDescription(),
+                actor, null, incident.getCreatedAt(), LocalDateTime.now());
+    }
+
+    public static IncidentChangedEvent updated(Incident incident, Incident.Status previousStatus,
+                                               String actor, String changedNotes) {
+        return new IncidentChangedEvent(Type.UPDATED, incident.getId(), incident.getReportedBy().getId(),
+                incident.getReportedBy().getUsername(), incident.getSeverity(), previousStatus, incident.getStatus(), incident.getTitle(),
+                incident.getDescription(), actor, changedNotes, incident.getCreatedAt(), LocalDateTime.now());
+    }
+
+    public static IncidentChangedEvent deleted(Incident incident, String actor) {
+        return new IncidentChangedEvent(Type.DELETED, incident.getId(), incident.getReportedBy().getId(), null,
+                incident.getSeverity(), incident.getStatus(), null, incident.getTitle(), incident.getDescription(),
+                actor, null, incident.getCreatedAt(), LocalDateTime.now());
+    }
+
+    /**
+     * Kind of change
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,7 @@
+package com.enterprise.incident.event;
+
+/**
+ * Published by UserService when a user's account changes (currently a re-hashed password)
+ */
+public record UserAccountChangedEvent(Long userId, String username) {
+}
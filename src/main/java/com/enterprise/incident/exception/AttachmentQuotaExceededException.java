@@ -0,0 +1,7 @@
+package com.enterprise.incident.exception;
+
+public class AttachmentQuotaExceededException extends RuntimeException {
+    public AttachmentQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -4,7 +4,9 @@
 // ========================================
 package com.enterprise.incident.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -13,7 +15,10 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @ControllerAdvice
 @Slf4j
@@ -67,6 +72,17 @@ public class GlobalExceptionHandler {
         return "error/400";
     }
 
+    // Over spring.servlet.multipart.max-file-size or max-request-size: back to the form it came from
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public String handleMaxUploadSize(MaxUploadSizeExceededException ex, HttpServletRequest request,
+                                      RedirectAttributes redirectAttributes) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+        redirectAttributes.addFlashAttribute("error", "The upload is too large. Attach fewer or smaller files.");
+        String referer = request.getHeader(HttpHeaders.REFERER);
+        String path = referer == null ? null : UriComponentsBuilder.fromUriString(referer).build().getPath();
+        return "redirect:" + (path != null && path.startsWith("/") && !path.startsWith("//") ? path : "/dashboard");
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public String handleNotFound(NoHandlerFoundException ex, Model model) {
@@ -0,0 +1,280 @@
+package com.enterprise.incident.feed;
+
+import com.enterprise.incident.event.IncidentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of committed incident changes to the admin live feed.
+ * Each change is built from the committed event, without a query, and copied into every
+ * subscriber's bounded buffer; a virtual thread per subscriber drains the buffer into its
+ * SSE connection. A subscriber that falls behind does not slow the others down: when its
+ * buffer is full the backlog is dropped and it is told to resync (reload the list).
+ * Heartbeats run on the bus's own scheduler, and a client that does not take one within
+ * the send timeout is disconnected, so a stuck connection never holds up other scheduled work.
+ * Only the thread that wrote to a connection ever completes it: the emitter's methods lock
+ * the emitter, which a write stuck in the socket keeps holding.
+ */
+@Component
+@Slf4j
+public class IncidentFeedBus {
+
+    static final String RESYNC = "resync";
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final Duration sendTimeout;
+    private final Counter overflows;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("incident-feed-heartbeat").daemon().factory());
+    private final ExecutorService heartbeatSenders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public IncidentFeedBus(
+            @Value("${incident.feed.buffer-size:256}") int bufferSize,
+            @Value("${incident.feed.max-subscribers:200}") int maxSubscribers,
+            @Value("${incident.feed.timeout:PT30M}") Duration timeout,
+            @Value("${incident.feed.heartbeat-interval:PT30S}") Duration heartbeatInterval,
+            @Value("${incident.feed.send-timeout:PT5S}") Duration sendTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.sendTimeout = sendTimeout;
+        Gauge.builder("incident.feed.subscribers", subscribers, Set::size)
+                .description("Open admin live feed connections")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("incident.feed.overflows")
+                .description("Subscribers whose buffer overflowed and were told to resync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a new feed connection. A client reconnecting with a Last-Event-ID other than the
+     * latest change has missed events (or this node restarted) and is told to resync.
+     */
+    public SseEmitter subscribe(String username, Long lastEventId) {
+        return subscribe(username, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(String username, Long lastEventId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            log.warn("Rejecting live feed subscription from {}: {} subscribers open", username, subscribers.size());
+            try {
+                // Ask the browser to back off instead of reconnecting every few seconds
+                emitter.send(SseEmitter.event().reconnectTime(Duration.ofMinutes(1).toMillis()).comment("busy"));
+            } catch (IOException ignored) {
+                // Nothing to tell a client that is already gone
+            }
+            emitter.complete();
+            return emitter;
+        }
+
+        Subscriber subscriber = new Subscriber(username, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        if (lastEventId != null && lastEventId != sequence.get()) {
+            subscriber.queue().offer(new Envelope(sequence.get(), RESYNC, null));
+        }
+        subscriber.start();
+        log.debug("Live feed subscriber {} connected ({} open)", username, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Forward committed changes to every subscriber
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        IncidentFeedMessage message = event.type() == IncidentChangedEvent.Type.DELETED
+                ? IncidentFeedMessage.deleted(event.incidentId())
+                : IncidentFeedMessage.of(event);
+        Envelope envelope = new Envelope(sequence.incrementAndGet(),
+                message.type().name().toLowerCase(Locale.ROOT), message);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue().offer(envelope)) {
+                // Slow consumer: drop its backlog rather than block the publisher or grow without bound
+                subscriber.queue().clear();
+                subscriber.queue().offer(new Envelope(envelope.id(), RESYNC, null));
+                overflows.increment();
+                log.debug("Live feed subscriber {} fell behind, requesting resync", subscriber.username());
+            }
+        }
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval.toMillis(),
+                heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect clients that went away. Each
+     * send runs on its own virtual thread; a client still not written to when the send
+     * timeout runs out is dropped from the feed without touching its emitter, and its
+     * connection is closed by the sender once the write fails.
+     */
+    void heartbeat() {
+        Map<Subscriber, Future<?>> sends = new LinkedHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            sends.put(subscriber, heartbeatSenders.submit(() -> {
+                send(subscriber, SseEmitter.event().comment("heartbeat"));
+                return null;
+            }));
+        }
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (Map.Entry<Subscriber, Future<?>> send : sends.entrySet()) {
+            try {
+                send.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                send.getValue().cancel(true);
+                log.debug("Live feed subscriber {} did not take a heartbeat in {}, disconnecting",
+                        send.getKey().username(), sendTimeout);
+                unsubscribe(send.getKey());
+            } catch (ExecutionException e) {
+                // Client disconnected or the emitter already completed
+                unsubscribe(send.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        heartbeatSenders.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            subscriber.emitter().complete();
+            unsubscribe(subscriber);
+        });
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.dead = true;
+        if (subscribers.remove(subscriber)) {
+            subscriber.stop();
+            log.debug("Live feed subscriber {} disconnected ({} open)", subscriber.username(), subscribers.size());
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Envelope envelope = subscriber.queue().take();
+                SseEmitter.SseEventBuilder event = SseEmitter.event()
+                        .id(String.valueOf(envelope.id()))
+                        .name(envelope.name());
+                if (envelope.message() != null) {
+                    event.data(envelope.message(), MediaType.APPLICATION_JSON);
+                } else {
+                    event.data(envelope.name());
+                }
+                send(subscriber, event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            unsubscribe(subscriber);
+        }
+    }
+
+    /**
+     * Write one event, closing the connection from this thread if the write fails. A
+     * subscriber dropped while this thread waited for the emitter is not written to.
+     */
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        if (subscriber.dead) {
+            throw new IOException("Live feed subscriber " + subscriber.username() + " was dropped");
+        }
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException e) {
+            unsubscribe(subscriber);
+            // Ignored by the emitter when the container is already completing it after the error
+            subscriber.emitter().completeWithError(e);
+            throw e;
+        }
+    }
+
+    private record Envelope(long id, String name, IncidentFeedMessage message) {
+    }
+
+    private final class Subscriber {
+
+        private final String username;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Envelope> queue;
+        private volatile Thread drainer;
+        private volatile boolean dead;
+
+        private Subscriber(String username, SseEmitter emitter, BlockingQueue<Envelope> queue) {
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        String username() {
+            return username;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        BlockingQueue<Envelope> queue() {
+            return queue;
+        }
+
+        void start() {
+            drainer = Thread.ofVirtual().name("incident-feed-" + username).start(() -> drain(this));
+        }
+
+        void stop() {
+            Thread thread = drainer;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+}
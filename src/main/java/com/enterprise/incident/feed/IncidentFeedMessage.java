@@ -0,0 +1,41 @@
+package com.enterprise.incident.feed;
+
+import com.enterprise.incident.event.IncidentChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the admin live feed, serialized as the data of a server-sent event.
+ * Only the id is set for deletions.
+ */
+public record IncidentFeedMessage(
+        IncidentChangedEvent.Type type,
+        Long id,
+        String title,
+        String severity,
+        String severityLabel,
+        String status,
+        String statusLabel,
+        String reporterUsername,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Entry for a created or updated incident. An update is stamped with the time of the
+     * change, which the incident's updatedAt only takes when it is flushed.
+     */
+    public static IncidentFeedMessage of(IncidentChangedEvent event) {
+        LocalDateTime updatedAt = event.type() == IncidentChangedEvent.Type.CREATED
+                ? event.incidentCreatedAt() : event.occurredAt();
+        return new IncidentFeedMessage(event.type(), event.incidentId(), event.title(),
+                event.severity().name(), event.severity().getDisplayName(),
+                event.status().name(), event.status().getDisplayName(),
+                event.reporterUsername(), event.incidentCreatedAt(), updatedAt);
+    }
+
+    public static IncidentFeedMessage deleted(Long id) {
+        return new IncidentFeedMessage(IncidentChangedEvent.Type.DELETED, id,
+                null, null, null, null, null, null, null, null);
+    }
+}
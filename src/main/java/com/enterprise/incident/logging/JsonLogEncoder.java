@@ -0,0 +1,104 @@
+package com.enterprise.incident.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * One JSON object per line for log shippers: timestamp, level, thread, logger, the
+ * formatted message, the MDC when set and the stack trace when there is one. Lines are
+ * built in a reused per-thread buffer, so encoding allocates little beyond the output.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int INITIAL_CAPACITY = 512;
+    // A huge stack trace should not pin its buffer for the life of the thread
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder json = BUFFER.get();
+        json.setLength(0);
+
+        json.append("{\"timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(event.getInstant(), json);
+        json.append("\",\"level\":\"").append(event.getLevel().levelStr).append('"');
+        field(json, "thread", event.getThreadName());
+        field(json, "logger", event.getLoggerName());
+        field(json, "message", event.getFormattedMessage());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            json.append(",\"mdc\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                string(json, entry.getKey());
+                json.append(':');
+                string(json, entry.getValue());
+            }
+            json.append('}');
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        json.append("}\n");
+
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        if (json.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.set(new StringBuilder(INITIAL_CAPACITY));
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        string(json, value);
+    }
+
+    private static void string(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
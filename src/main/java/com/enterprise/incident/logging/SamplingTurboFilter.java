@@ -0,0 +1,87 @@
+package com.enterprise.incident.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N events below WARN for high-volume loggers, configured as
+ * {@code logger=N} pairs separated by commas; a logger name also covers its children.
+ * Runs before Logback creates the event, so a dropped line costs a counter increment.
+ * WARN and ERROR are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler KEEP_ALL = new Sampler(1);
+
+    private final Map<String, Integer> rates = new LinkedHashMap<>();
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    /**
+     * Sampling rates, e.g. {@code com.example.service=10,org.hibernate.SQL=100}
+     */
+    public void setSampling(String sampling) {
+        rates.clear();
+        samplers.clear();
+        if (sampling == null || sampling.isBlank()) {
+            return;
+        }
+        for (String entry : sampling.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                addError("Ignoring log sampling entry '" + entry + "', expected logger=N");
+                continue;
+            }
+            try {
+                rates.put(parts[0].trim(), Math.max(1, Integer.parseInt(parts[1].trim())));
+            } catch (NumberFormatException e) {
+                addError("Ignoring log sampling entry '" + entry + "', N is not a number");
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks arrive without a format; disabled levels would skew the count
+        if (format == null || rates.isEmpty() || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return samplers.computeIfAbsent(logger.getName(), this::samplerFor).keep()
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Integer rate = rates.get(name);
+            if (rate != null) {
+                return rate == 1 ? KEEP_ALL : new Sampler(rate);
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return KEEP_ALL;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    private record Sampler(int rate, AtomicLong count) {
+
+        Sampler(int rate) {
+            this(rate, new AtomicLong());
+        }
+
+        boolean keep() {
+            return rate == 1 || count.getAndIncrement() % rate == 0;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.enterprise.incident.metrics;
+
+import com.enterprise.incident.event.IncidentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counters for what the application does rather than how long it takes: committed
+ * incident changes ({@code incident.incidents.changes{type,severity}}) and
+ * authentication attempts ({@code incident.auth.attempts{result}}).
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        Counter.builder("incident.incidents.changes")
+                .tag("type", event.type().name())
+                .tag("severity", event.severity().name())
+                .description("Committed incident creations, updates and deletions")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        authenticationAttempt("success");
+    }
+
+    @EventListener
+    public void onAuthenticationFailure(AbstractAuthenticationFailureEvent event) {
+        authenticationAttempt(event.getException().getClass().getSimpleName());
+    }
+
+    private void authenticationAttempt(String result) {
+        Counter.builder("incident.auth.attempts")
+                .tag("result", result)
+                .description("Form login and HTTP Basic authentication attempts")
+                .register(meterRegistry)
+                .increment();
+    }
+}
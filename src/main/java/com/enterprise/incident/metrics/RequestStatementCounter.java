@@ -0,0 +1,75 @@
+package com.enterprise.incident.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the SQL statements Hibernate prepares while serving a request. The count is
+ * recorded per URI pattern as {@code incident.http.db.statements} and left in a request
+ * attribute for the {@code db.statements} tag of {@code http.server.requests}.
+ * <p>
+ * Only statements issued on the request thread are counted; plain JdbcTemplate calls
+ * and work handed to other threads (async exports, the audit writer) are not.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestStatementCounter extends OncePerRequestFilter implements StatementInspector {
+
+    static final String COUNT_ATTRIBUTE = RequestStatementCounter.class.getName() + ".count";
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = CURRENT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger count = new AtomicInteger();
+        request.setAttribute(COUNT_ATTRIBUTE, count);
+        CURRENT.set(count);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("incident.http.db.statements")
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .description("SQL statements prepared while serving a request")
+                    .register(meterRegistry)
+                    .record(count.get());
+        }
+    }
+
+    /**
+     * Statements counted for a request so far, -1 when the request was not counted
+     */
+    static int statementsOf(HttpServletRequest request) {
+        return request.getAttribute(COUNT_ATTRIBUTE) instanceof AtomicInteger count ? count.get() : -1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.enterprise.incident.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a {@code db.statements} tag to {@code http.server.requests}, so slow pages can be
+ * told apart by how much SQL they run. The count is bucketed to keep the number of
+ * series bounded; exact counts are in {@code incident.http.db.statements}.
+ */
+@Component
+public class StatementCountObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("db.statements", bucket(RequestStatementCounter.statementsOf(context.getCarrier()))));
+    }
+
+    static String bucket(int statements) {
+        if (statements < 0) {
+            return "UNKNOWN";
+        }
+        if (statements <= 1) {
+            return String.valueOf(statements);
+        }
+        if (statements <= 5) {
+            return "2-5";
+        }
+        if (statements <= 20) {
+            return "6-20";
+        }
+        return "21+";
+    }
+}
@@ -0,0 +1,49 @@
+package com.enterprise.incident.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Times Thymeleaf rendering as {@code incident.view.render}, tagged with the template
+ * name: from the end of the handler (postHandle) to the end of the request
+ * (afterCompletion), which is the time spent rendering the view.
+ */
+@Component
+@RequiredArgsConstructor
+public class ViewRenderTimer implements HandlerInterceptor {
+
+    private static final String SAMPLE_ATTRIBUTE = ViewRenderTimer.class.getName() + ".sample";
+    private static final String VIEW_ATTRIBUTE = ViewRenderTimer.class.getName() + ".view";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Redirects and @ResponseBody handlers render nothing
+        if (modelAndView == null || modelAndView.getViewName() == null
+                || modelAndView.getViewName().startsWith("redirect:")) {
+            return;
+        }
+        request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+        request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample) {
+            sample.stop(Timer.builder("incident.view.render")
+                    .tag("view", (String) request.getAttribute(VIEW_ATTRIBUTE))
+                    .tag("exception", ex != null ? ex.getClass().getSimpleName() : "none")
+                    .description("Time spent rendering a Thymeleaf template")
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.IncidentAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Repository for incident attachment metadata
+ */
+@Repository
+public interface IncidentAttachmentRepository extends JpaRepository<IncidentAttachment, Long> {
+
+    /**
+     * Those of the given content hashes that at least one attachment still refers to
+     */
+    @Query("SELECT DISTINCT a.contentHash FROM IncidentAttachment a WHERE a.contentHash IN :hashes")
+    Set<String> findReferencedHashes(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Bytes attached to the incident so far, counting shared content once per attachment
+     */
+    @Query("SELECT COALESCE(SUM(a.sizeBytes), 0) FROM IncidentAttachment a WHERE a.incident.id = :incidentId")
+    long sumSizeByIncidentId(@Param("incidentId") Long incidentId);
+
+    /**
+     * Bytes the user has attached so far, over every incident
+     */
+    @Query("SELECT COALESCE(SUM(a.sizeBytes), 0) FROM IncidentAttachment a WHERE a.uploadedBy = :username")
+    long sumSizeByUploadedBy(@Param("username") String username);
+}
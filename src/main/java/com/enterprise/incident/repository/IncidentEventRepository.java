@@ -0,0 +1,19 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.IncidentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the incident audit trail
+ */
+@Repository
+public interface IncidentEventRepository extends JpaRepository<IncidentEvent, Long> {
+
+    /**
+     * Audit trail of one incident, oldest first
+     */
+    List<IncidentEvent> findByIncidentIdOrderByOccurredAtAscIdAsc(Long incidentId);
+}
@@ -1,54 +1,200 @@
 package com.enterprise.incident.repository;
 
+import com.enterprise.incident.dto.IncidentSummary;
 import com.enterprise.incident.entity.Incident;
-import com.enterprise.incident.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Repository for Incident entity operations
+ * Repository for Incident entity operations. Filtered, keyset-paginated lists of
+ * summaries come from {@link IncidentSummaryQueries} with {@link IncidentSpecifications}.
  */
 @Repository
-public interface IncidentRepository extends JpaRepository<Incident, Long> {
+public interface IncidentRepository extends JpaRepository<Incident, Long>, IncidentSummaryQueries {
 
     /**
-     * Find all incidents reported by a specific user
+     * Select list for IncidentSummary projections; expects aliases i (incident) and u (reporter)
      */
-    List<Incident> findByReportedByOrderByCreatedAtDesc(User user);
+    String SUMMARY_COLUMNS = "i.id AS id, i.title AS title, i.severity AS severity, i.status AS status, " +
+            "u.username AS reporterUsername, i.createdAt AS createdAt, i.updatedAt AS updatedAt";
 
     /**
-     * Find all incidents with pagination, ordered by creation date
+     * Select list for IncidentSimilaritySource projections; expects alias i (incident)
      */
-    Page<Incident> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    String SIMILARITY_COLUMNS = "i.id AS id, i.title AS title, i.description AS description, " +
+            "i.severity AS severity, i.status AS status, i.reportedBy.id AS reporterId, i.createdAt AS createdAt";
 
     /**
-     * Find incidents by status
+     * Find an incident together with its reporter in a single query
      */
-    List<Incident> findByStatusOrderByCreatedAtDesc(Incident.Status status);
+    @EntityGraph(Incident.WITH_REPORTER)
+    Optional<Incident> findWithReporterById(Long id);
 
     /**
-     * Find incidents by severity
+     * Summaries of all incidents reported by a specific user, newest first. The reporter is
+     * joined as an entity so the filter stays on incidents.reported_by_id, the leading
+     * column of idx_incidents_reporter_created; through the association, Hibernate would
+     * put it on users.id instead.
      */
-    List<Incident> findBySeverityOrderByCreatedAtDesc(Incident.Severity severity);
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Incident i JOIN User u ON u.id = i.reportedBy.id " +
+            "WHERE i.reportedBy.id = :reporterId ORDER BY i.createdAt DESC, i.id DESC")
+    List<IncidentSummary> findSummariesByReporterId(@Param("reporterId") Long reporterId);
 
     /**
-     * Count incidents by status for dashboard
+     * Summaries of the given incidents, in no particular order
      */
-    long countByStatus(Incident.Status status);
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Incident i JOIN i.reportedBy u WHERE i.id IN :ids")
+    List<IncidentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
-     * Count incidents by severity
+     * Searchable text of every incident, for building an in-process search index.
+     * Must be consumed inside a transaction and closed afterwards.
      */
-    long countBySeverity(Incident.Severity severity);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS id, i.title AS title, i.description AS description, i.adminNotes AS adminNotes " +
+            "FROM Incident i")
+    Stream<IncidentText> streamAllText();
 
     /**
-     * Count incidents reported by a specific user
+     * The fields near-duplicate detection works from, for the incidents created since the
+     * given time, oldest first. Must be consumed inside a transaction and closed afterwards.
      */
-    long countByReportedBy(User user);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + SIMILARITY_COLUMNS + " FROM Incident i WHERE i.createdAt >= :since " +
+            "ORDER BY i.createdAt, i.id")
+    Stream<IncidentSimilaritySource> streamForSimilarityCreatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Every incident with its reporter's username, oldest first, for streaming exports.
+     * Rows are fetched from the cursor in blocks instead of being loaded up front;
+     * must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT i.id AS id, i.title AS title, i.description AS description, i.severity AS severity, " +
+            "i.status AS status, i.adminNotes AS adminNotes, u.username AS reporterUsername, " +
+            "i.createdAt AS createdAt, i.updatedAt AS updatedAt " +
+            "FROM Incident i JOIN i.reportedBy u ORDER BY i.id")
+    Stream<IncidentExportRow> streamAllForExport();
+
+    /**
+     * The fields analytics rollups are derived from, for every incident created up to the cutoff.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT i.severity AS severity, i.status AS status, i.reportedBy.id AS reporterId, " +
+            "i.createdAt AS createdAt, i.updatedAt AS updatedAt, i.resolvedAt AS resolvedAt FROM Incident i " +
+            "WHERE i.createdAt <= :cutoff")
+    Stream<IncidentRollupSource> streamForRollupsCreatedUpTo(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Count incidents per status and severity in one pass, for dashboard statistics
+     */
+    @Query("SELECT i.status AS status, i.severity AS severity, COUNT(i) AS total " +
+            "FROM Incident i GROUP BY i.status, i.severity")
+    List<StatusSeverityCount> countGroupedByStatusAndSeverity();
+
+    /**
+     * Count incidents reported by a specific user. Results are kept in the query cache
+     * until the incidents table changes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Incident.COUNT_CACHE_REGION)
+    })
+    long countByReportedById(Long reporterId);
+
+    /**
+     * Searchable text columns of an incident
+     */
+    interface IncidentText {
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        String getAdminNotes();
+    }
+
+    /**
+     * Text compared for near-duplicates and the fields shown next to a match
+     */
+    interface IncidentSimilaritySource {
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        Incident.Severity getSeverity();
+
+        Incident.Status getStatus();
+
+        Long getReporterId();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    /**
+     * Fields of an incident that feed the analytics rollups
+     */
+    interface IncidentRollupSource {
+        Incident.Severity getSeverity();
+
+        Incident.Status getStatus();
+
+        Long getReporterId();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        LocalDateTime getResolvedAt();
+    }
+
+    /**
+     * All exported columns of an incident
+     */
+    interface IncidentExportRow {
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        Incident.Severity getSeverity();
+
+        Incident.Status getStatus();
+
+        String getAdminNotes();
+
+        String getReporterUsername();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * Row of the grouped status/severity count
+     */
+    interface StatusSeverityCount {
+        Incident.Status getStatus();
+
+        Incident.Severity getSeverity();
+
+        long getTotal();
+    }
 }
@@ -0,0 +1,72 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentRollup;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read side of the incident analytics rollups. Rows are written by
+ * {@link com.enterprise.incident.analytics.RollupStore}.
+ */
+@Repository
+public interface IncidentRollupRepository extends JpaRepository<IncidentRollup, IncidentRollup.Key> {
+
+    /**
+     * Rollup rows of one bucket size in [from, to), oldest first
+     */
+    @Query("SELECT r FROM IncidentRollup r WHERE r.bucketSize = :size " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<IncidentRollup> findBuckets(@Param("size") IncidentRollup.BucketSize size,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Resolutions and total time to resolve per severity in [from, to)
+     */
+    @Query("SELECT r.severity AS severity, SUM(r.entered) AS resolved, SUM(r.resolutionSeconds) AS resolutionSeconds " +
+            "FROM IncidentRollup r WHERE r.bucketSize = :size AND r.status = :status " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.severity")
+    List<ResolutionTotal> sumResolutions(@Param("size") IncidentRollup.BucketSize size,
+                                         @Param("status") Incident.Status status,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    /**
+     * Users who reported the most incidents in [from, to)
+     */
+    @Query("SELECT u.username AS username, SUM(r.reported) AS reported " +
+            "FROM ReporterRollup r, User u WHERE u.id = r.reporterId " +
+            "AND r.bucketDay >= :from AND r.bucketDay < :to " +
+            "GROUP BY u.id, u.username ORDER BY SUM(r.reported) DESC, u.username")
+    List<ReporterTotal> findTopReporters(@Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         Limit limit);
+
+    /**
+     * Resolution totals of one severity
+     */
+    interface ResolutionTotal {
+        Incident.Severity getSeverity();
+
+        long getResolved();
+
+        long getResolutionSeconds();
+    }
+
+    /**
+     * Incidents reported by one user
+     */
+    interface ReporterTotal {
+        String getUsername();
+
+        long getReported();
+    }
+}
@@ -0,0 +1,80 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.Incident;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Predicates of the admin incident list; a null or empty argument matches every incident.
+ * Used with {@link IncidentSummaryQueries#findSummaries}, which joins the reporter.
+ */
+public final class IncidentSpecifications {
+
+    private IncidentSpecifications() {
+    }
+
+    public static Specification<Incident> hasStatusIn(Collection<Incident.Status> statuses) {
+        return (incident, query, cb) -> statuses == null || statuses.isEmpty()
+                ? null
+                : incident.get("status").in(statuses);
+    }
+
+    public static Specification<Incident> hasSeverityIn(Collection<Incident.Severity> severities) {
+        return (incident, query, cb) -> severities == null || severities.isEmpty()
+                ? null
+                : incident.get("severity").in(severities);
+    }
+
+    /**
+     * Reported by the user with the given username, compared on the query's reporter join
+     */
+    public static Specification<Incident> reportedBy(String username) {
+        return (incident, query, cb) -> username == null
+                ? null
+                : cb.equal(reporter(incident).get("username"), username);
+    }
+
+    /**
+     * Created on or after the start of {@code from} and before the end of {@code to}
+     */
+    public static Specification<Incident> createdBetween(LocalDate from, LocalDate to) {
+        return Specification.<Incident>where(from == null ? null : (incident, query, cb) ->
+                        cb.greaterThanOrEqualTo(incident.get("createdAt"), from.atStartOfDay()))
+                .and(to == null ? null : (incident, query, cb) ->
+                        cb.lessThan(incident.get("createdAt"), to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Rows after the (createdAt, id) keyset cursor in descending order: older incidents,
+     * or those created at the same instant with a smaller id
+     */
+    public static Specification<Incident> before(LocalDateTime createdAt, Long id) {
+        return (incident, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(incident.get("createdAt"), createdAt),
+                cb.or(cb.lessThan(incident.get("createdAt"), createdAt), cb.lessThan(incident.get("id"), id)));
+    }
+
+    /**
+     * Rows after the (createdAt, id) keyset cursor in ascending order
+     */
+    public static Specification<Incident> after(LocalDateTime createdAt, Long id) {
+        return (incident, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(incident.get("createdAt"), createdAt),
+                cb.or(cb.greaterThan(incident.get("createdAt"), createdAt), cb.greaterThan(incident.get("id"), id)));
+    }
+
+    /**
+     * The reporter join of the query, joined here only if the query has none
+     */
+    private static Join<Incident, ?> reporter(Root<Incident> incident) {
+        return incident.getJoins().stream()
+                .filter(join -> join.getAttribute().getName().equals("reportedBy"))
+                .findFirst()
+                .orElseGet(() -> incident.join("reportedBy"));
+    }
+}
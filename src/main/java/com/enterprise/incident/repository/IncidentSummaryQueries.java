@@ -0,0 +1,22 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.entity.Incident;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Summary queries with a caller-supplied filter, implemented with the Criteria API
+ */
+public interface IncidentSummaryQueries {
+
+    /**
+     * Summaries of the incidents matching the specification, ordered by (createdAt, id)
+     * in the given direction. Only the summary columns are selected, with the reporter
+     * joined in the same query.
+     */
+    List<IncidentSummary> findSummaries(Specification<Incident> specification, Sort.Direction direction, Limit limit);
+}
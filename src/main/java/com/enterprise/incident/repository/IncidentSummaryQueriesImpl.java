@@ -0,0 +1,108 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link IncidentSummaryQueries}, picked up by Spring Data
+ * as a fragment of {@link IncidentRepository}
+ */
+@RequiredArgsConstructor
+class IncidentSummaryQueriesImpl implements IncidentSummaryQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<IncidentSummary> findSummaries(Specification<Incident> specification, Sort.Direction direction,
+                                               Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SummaryRow> query = cb.createQuery(SummaryRow.class);
+        Root<Incident> incident = query.from(Incident.class);
+        // Every incident has a reporter, so a left join returns the same rows. It keeps
+        // incidents as the driving table: the page is read in index order and the scan stops
+        // at the limit, where an inner join lets the planner start from users instead.
+        Join<Incident, User> reporter = incident.join("reportedBy", JoinType.LEFT);
+
+        query.select(cb.construct(SummaryRow.class,
+                incident.get("id"), incident.get("title"), incident.get("severity"), incident.get("status"),
+                reporter.get("username"), incident.get("createdAt"), incident.get("updatedAt")));
+        Predicate predicate = specification.toPredicate(incident, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(direction.isAscending()
+                ? List.of(cb.asc(incident.get("createdAt")), cb.asc(incident.get("id")))
+                : List.of(cb.desc(incident.get("createdAt")), cb.desc(incident.get("id"))));
+
+        TypedQuery<SummaryRow> typedQuery = entityManager.createQuery(query);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return List.copyOf(typedQuery.getResultList());
+    }
+
+    /**
+     * Constructor-expression target of the summary query
+     */
+    record SummaryRow(
+            Long id,
+            String title,
+            Incident.Severity severity,
+            Incident.Status status,
+            String reporterUsername,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt
+    ) implements IncidentSummary {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getTitle() {
+            return title;
+        }
+
+        @Override
+        public Incident.Severity getSeverity() {
+            return severity;
+        }
+
+        @Override
+        public Incident.Status getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getReporterUsername() {
+            return reporterUsername;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.enterprise.incident.search;
+
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index used where PostgreSQL full-text search is not available
+ * (the H2 test profile). Scores are TF-IDF with title terms weighted above description
+ * and admin notes terms; there is no stemming.
+ */
+@Component
+@ConditionalOnProperty(name = "incident.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryIncidentSearchIndex implements IncidentSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BODY_WEIGHT = 1;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "were", "with");
+
+    private final IncidentRepository incidentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> termsByIncident = new HashMap<>();
+
+    /**
+     * Index every existing incident once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByIncident.clear();
+            try (Stream<IncidentRepository.IncidentText> rows = incidentRepository.streamAllText()) {
+                rows.forEach(row -> addLocked(row.getId(), row.getTitle(), row.getDescription(), row.getAdminNotes()));
+            }
+            log.info("In-memory search index built with {} incidents", termsByIncident.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the index in step with committed incident changes, from the event alone so bulk
+     * ingestion adds no query per incident. Title and description never change after
+     * creation; an update is re-indexed only when it changed the admin notes.
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        if (event.type() == IncidentChangedEvent.Type.UPDATED && event.adminNotes() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.incidentId());
+            if (event.type() != IncidentChangedEvent.Type.DELETED) {
+                addLocked(event.incidentId(), event.title(), event.description(), event.adminNotes());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchHits search(String query, int page, int size) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        List<Map.Entry<Long, Double>> scored = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>();
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return SearchHits.empty();
+                }
+                lists.add(list);
+            }
+            // Walk the rarest term's postings and require every other term to match too
+            lists.sort(Comparator.comparingInt(Map::size));
+            int documents = termsByIncident.size();
+            for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+                double score = 0;
+                for (Map<Long, Integer> list : lists) {
+                    Integer frequency = list.get(candidate.getKey());
+                    if (frequency == null) {
+                        score = -1;
+                        break;
+                    }
+                    score += frequency * Math.log(1.0 + (double) documents / list.size());
+                }
+                if (score >= 0) {
+                    scored.add(Map.entry(candidate.getKey(), score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        scored.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+        List<Long> ids = scored.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(ids, Math.min(scored.size(), MAX_COUNTED_HITS));
+    }
+
+    private void addLocked(Long incidentId, String title, String description, String adminNotes) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            frequencies.merge(term, BODY_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(adminNotes)) {
+            frequencies.merge(term, BODY_WEIGHT, Integer::sum);
+        }
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(incidentId, frequency));
+        termsByIncident.put(incidentId, frequencies.keySet());
+    }
+
+    private void removeLocked(Long incidentId) {
+        Set<String> terms = termsByIncident.remove(incidentId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(incidentId);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            boolean meaningful = token.length() > 1 || Character.isDigit(token.charAt(0));
+            if (meaningful && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
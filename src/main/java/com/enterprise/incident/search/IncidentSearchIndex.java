@@ -0,0 +1,34 @@
+package com.enterprise.incident.search;
+
+import java.util.List;
+
+/**
+ * Ranked full-text search over incident title, description and admin notes
+ */
+public interface IncidentSearchIndex {
+
+    /**
+     * Most relevant incident ids for the query, best match first
+     *
+     * @param query free-text query; all terms must match
+     * @param page  zero-based page number
+     * @param size  page size
+     */
+    SearchHits search(String query, int page, int size);
+
+    /**
+     * One page of matching incident ids in rank order, with the total number of matches
+     * (counted up to {@link #MAX_COUNTED_HITS})
+     */
+    record SearchHits(List<Long> ids, long total) {
+
+        public static SearchHits empty() {
+            return new SearchHits(List.of(), 0);
+        }
+    }
+
+    /**
+     * Matches beyond this are not counted, so broad queries stay cheap
+     */
+    int MAX_COUNTED_HITS = 1000;
+}
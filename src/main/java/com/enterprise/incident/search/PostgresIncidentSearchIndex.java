@@ -0,0 +1,55 @@
+package com.enterprise.incident.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search backed by a generated tsvector column with a GIN index on the incidents table
+ * (see db/migration/postgresql). Queries use websearch syntax (quoted phrases,
+ * -exclusions, "or") and are ranked by ts_rank.
+ * <p>
+ * The GIN index finds the matches and every one of them is ranked in the same query, so
+ * the best matches come first however many there are; a top-N sort keeps only the rows
+ * up to the requested page in memory. ts_rank reads each match's tsvector, so a broad query costs
+ * time in proportion to its matches. Only the total is capped, at {@link #MAX_COUNTED_HITS}.
+ */
+@Component
+@ConditionalOnProperty(name = "incident.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresIncidentSearchIndex implements IncidentSearchIndex {
+
+    private static final String SEARCH_SQL = """
+            SELECT id FROM incidents, websearch_to_tsquery('english', :query) AS q(query)
+            WHERE search_vector @@ q.query
+            ORDER BY ts_rank(search_vector, q.query) DESC, id DESC
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String COUNT_SQL = """
+            SELECT count(*) FROM (
+                SELECT 1 FROM incidents
+                WHERE search_vector @@ websearch_to_tsquery('english', :query)
+                LIMIT :maxHits
+            ) hits
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public SearchHits search(String query, int page, int size) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", size)
+                .addValue("offset", (long) page * size)
+                .addValue("maxHits", MAX_COUNTED_HITS);
+
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, params, Long.class);
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, params, Long.class);
+        return new SearchHits(ids, total == null ? 0 : total);
+    }
+}
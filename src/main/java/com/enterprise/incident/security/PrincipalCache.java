@@ -0,0 +1,121 @@
+package com.enterprise.incident.security;
+
+import com.enterprise.incident.event.UserAccountChangedEvent;
+import com.enterprise.incident.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, time-limited cache of UserPrincipal snapshots consulted by the
+ * authentication provider before it calls UserService.loadUserByUsername.
+ * Least recently used entries are dropped once the cache is full, and entries are
+ * evicted when the account changes.
+ * <p>
+ * Every hit is checked against the user entity in the {@code users} second-level cache
+ * region, which committed JPA changes keep current (on every node, through the cache
+ * invalidation channel), so a user disabled,
+ * demoted or given a new password is loaded afresh on the next authentication instead
+ * of after the TTL. The check costs no query while the entity is cached. Changes made
+ * with plain SQL bypass that region and are only seen once its entry expires
+ * ({@code incident.cache.users.time-to-live}).
+ */
+@Component
+@Slf4j
+public class PrincipalCache implements UserCache {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${incident.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${incident.security.principal-cache.ttl:PT5M}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        UserDetails cached = getUnchecked(username);
+        if (cached instanceof UserPrincipal principal && !matchesAccount(principal)) {
+            log.debug("Cached principal of user {} no longer matches the account, reloading", username);
+            synchronized (this) {
+                Entry entry = entries.get(username);
+                if (entry != null && entry.user() == principal) {
+                    entries.remove(username);
+                }
+            }
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Whether the snapshot still equals the account as the second-level cache has it. A
+     * read-write transaction, so that a cache miss reads the primary, not a lagging replica.
+     */
+    private boolean matchesAccount(UserPrincipal principal) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> userRepository.findById(principal.getId())
+                .map(UserPrincipal::from)
+                .filter(principal::equals)
+                .isPresent()));
+    }
+
+    private synchronized UserDetails getUnchecked(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.cachedAt() > ttlNanos) {
+            entries.remove(username);
+            return null;
+        }
+        return entry.user();
+    }
+
+    @Override
+    public synchronized void putUserInCache(UserDetails user) {
+        if (maxSize > 0) {
+            entries.put(user.getUsername(), new Entry(user, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public synchronized void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+
+    /**
+     * Drop the cached snapshot once a change to the account has committed
+     */
+    @TransactionalEventListener
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        log.debug("Evicting cached principal for user: {}", event.username());
+        removeUserFromCache(event.username());
+    }
+
+    private record Entry(UserDetails user, long cachedAt) {
+    }
+}
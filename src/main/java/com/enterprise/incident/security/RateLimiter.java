@@ -0,0 +1,177 @@
+package com.enterprise.incident.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket limits for endpoints that are expensive to flood: login and registration
+ * (password hashing) and incident creation. Each policy from
+ * {@code incident.rate-limit.policies} gives every client {@code capacity} requests,
+ * refilled evenly over {@code period}, keyed by client IP or by authenticated user.
+ * <p>
+ * A bucket is a single AtomicLong holding the instant it will be full again (the GCRA
+ * form of a token bucket), updated by compare-and-set, so checks never lock; the
+ * buckets live in a ConcurrentHashMap, whose bins stripe concurrent inserts. Full buckets
+ * carry no state worth keeping and are swept periodically. Once {@code max-buckets} are in
+ * use, new clients of a policy share one overflow bucket until the sweep frees space.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final String OVERFLOW_CLIENT = "overflow";
+
+    private final List<Policy> policies;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${incident.rate-limit.enabled:true}") boolean enabled,
+            @Value("${incident.rate-limit.max-buckets:100000}") int maxBuckets
+    ) {
+        List<RateLimitPolicy> configured = enabled
+                ? Binder.get(environment).bind("incident.rate-limit.policies", Bindable.listOf(RateLimitPolicy.class))
+                        .orElse(List.of())
+                : List.of();
+        this.policies = configured.stream().map(policy -> compile(policy, meterRegistry)).toList();
+        this.maxBuckets = maxBuckets;
+        Gauge.builder("incident.ratelimit.buckets", buckets, ConcurrentHashMap::size)
+                .description("Rate limit buckets of clients seen recently")
+                .register(meterRegistry);
+        log.info("Rate limiting {} endpoint policies", policies.size());
+    }
+
+    /**
+     * Take a token from every policy matching the request. {@code username} is the
+     * authenticated user, or null, in which case per-user policies key on the client IP.
+     * Returns the rejection if any bucket was empty.
+     */
+    public Optional<Rejection> tryAcquire(HttpServletRequest request, String username) {
+        Rejection rejection = null;
+        long now = System.nanoTime();
+        for (Policy policy : policies) {
+            if (!policy.matcher().matches(request)) {
+                continue;
+            }
+            String client = policy.config().key() == KeyType.USER && username != null
+                    ? "user:" + username
+                    : "ip:" + request.getRemoteAddr();
+            long waitNanos = acquire(bucket(new BucketKey(policy.config().name(), client), now), policy, now);
+            if (waitNanos > 0) {
+                policy.rejected().increment();
+                Duration retryAfter = Duration.ofNanos(waitNanos);
+                if (rejection == null || retryAfter.compareTo(rejection.retryAfter()) > 0) {
+                    rejection = new Rejection(policy.config().name(), retryAfter);
+                }
+            }
+        }
+        return Optional.ofNullable(rejection);
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a new bucket starts full, so this
+     * changes no decision. Returns how many were dropped.
+     */
+    @Scheduled(fixedDelayString = "${incident.rate-limit.sweep-interval:PT1M}")
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(BucketKey key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            key = new BucketKey(key.policy(), OVERFLOW_CLIENT);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * Spend one token: moves the bucket's full-again instant one interval later unless
+     * that would exceed a whole period ahead. Returns 0, or how long until a token is free.
+     */
+    private static long acquire(AtomicLong bucket, Policy policy, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + policy.intervalNanos();
+            long excess = next - now - policy.periodNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static Policy compile(RateLimitPolicy policy, MeterRegistry meterRegistry) {
+        if (policy.name() == null || policy.path() == null || policy.key() == null
+                || policy.capacity() <= 0 || policy.period() == null || !policy.period().isPositive()) {
+            throw new IllegalStateException("Incomplete rate limit policy: " + policy);
+        }
+        Counter rejected = Counter.builder("incident.ratelimit.rejected")
+                .tag("policy", policy.name())
+                .description("Requests answered 429 Too Many Requests")
+                .register(meterRegistry);
+        return new Policy(policy, new AntPathRequestMatcher(policy.path(), policy.method()),
+                policy.period().toNanos() / policy.capacity(), policy.period().toNanos(), rejected);
+    }
+
+    /**
+     * What a bucket is keyed by; USER falls back to the client IP for anonymous requests
+     */
+    public enum KeyType {
+        IP,
+        USER
+    }
+
+    /**
+     * One entry of {@code incident.rate-limit.policies}: requests matching {@code method}
+     * (any when unset) and the Ant-style {@code path} may burst to {@code capacity}, which
+     * refills over {@code period}
+     */
+    public record RateLimitPolicy(String name, String method, String path, KeyType key,
+                                  int capacity, Duration period) {
+    }
+
+    /**
+     * A request refused by the named policy, and how long until it would be allowed
+     */
+    public record Rejection(String policy, Duration retryAfter) {
+    }
+
+    private record Policy(RateLimitPolicy config, RequestMatcher matcher, long intervalNanos,
+                          long periodNanos, Counter rejected) {
+    }
+
+    private record BucketKey(String policy, String client) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.enterprise.incident.security;
+
+import com.enterprise.incident.entity.User;
+import lombok.ToString;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable snapshot of an authenticated user.
+ * Kept in the security context, the HTTP session and the principal cache instead
+ * of the JPA User entity, so it carries no persistence state or lazy collections.
+ */
+@Value
+public class UserPrincipal implements UserDetails {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    Long id;
+    String username;
+    String email;
+    @ToString.Exclude
+    String password;
+    User.Role role;
+    boolean enabled;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getEnabled())
+        );
+    }
+
+    public boolean isAdmin() {
+        return role == User.Role.ROLE_ADMIN;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
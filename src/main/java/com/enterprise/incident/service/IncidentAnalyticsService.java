@@ -0,0 +1,141 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentRollup;
+import com.enterprise.incident.entity.IncidentRollup.BucketSize;
+import com.enterprise.incident.repository.IncidentRollupRepository;
+import com.enterprise.incident.repository.IncidentRollupRepository.ReporterTotal;
+import com.enterprise.incident.repository.IncidentRollupRepository.ResolutionTotal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incident trends, time to resolve and top reporters, read from the pre-aggregated
+ * rollup tables. Query cost depends on the number of buckets in the range, not on
+ * the number of incidents.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncidentAnalyticsService {
+
+    /** Hourly buckets are only offered for short ranges */
+    public static final int MAX_HOUR_BUCKETS = 31 * 24;
+    public static final int MAX_DAY_BUCKETS = 366 * 3;
+
+    private static final Incident.Severity[] SEVERITIES = Incident.Severity.values();
+    private static final Incident.Status[] STATUSES = Incident.Status.values();
+
+    private final IncidentRollupRepository incidentRollupRepository;
+
+    /**
+     * Analytics for the days {@code from} to {@code to}, both inclusive (admin only).
+     * The range is clamped so it never holds more than the maximum number of buckets.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public IncidentTrends getTrends(LocalDate from, LocalDate to, BucketSize bucketSize, int topReporters) {
+        if (to.isBefore(from)) {
+            LocalDate swap = from;
+            from = to;
+            to = swap;
+        }
+        long maxDays = bucketSize == BucketSize.HOUR ? MAX_HOUR_BUCKETS / 24 : MAX_DAY_BUCKETS;
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            from = to.minusDays(maxDays - 1);
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        List<LocalDateTime> buckets = new ArrayList<>();
+        ChronoUnit unit = bucketSize == BucketSize.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = bucket.plus(1, unit)) {
+            buckets.add(bucket);
+        }
+
+        Map<Incident.Severity, long[]> created = new EnumMap<>(Incident.Severity.class);
+        for (Incident.Severity severity : SEVERITIES) {
+            created.put(severity, new long[buckets.size()]);
+        }
+        Map<Incident.Status, long[]> transitions = new EnumMap<>(Incident.Status.class);
+        for (Incident.Status status : STATUSES) {
+            transitions.put(status, new long[buckets.size()]);
+        }
+        for (IncidentRollup row : incidentRollupRepository.findBuckets(bucketSize, start, end)) {
+            int index = (int) unit.between(start, row.getBucketStart());
+            transitions.get(row.getStatus())[index] += row.getEntered();
+            created.get(row.getSeverity())[index] += row.getCreated();
+        }
+
+        // The range is whole days, so the coarser daily rows give the same totals
+        Map<Incident.Severity, Duration> meanTimeToResolve = new EnumMap<>(Incident.Severity.class);
+        long resolved = 0;
+        long resolutionSeconds = 0;
+        for (ResolutionTotal total : incidentRollupRepository.sumResolutions(
+                BucketSize.DAY, Incident.Status.RESOLVED, start, end)) {
+            if (total.getResolved() > 0) {
+                meanTimeToResolve.put(total.getSeverity(),
+                        Duration.ofSeconds(total.getResolutionSeconds() / total.getResolved()));
+            }
+            resolved += total.getResolved();
+            resolutionSeconds += total.getResolutionSeconds();
+        }
+
+        List<ReporterTotal> reporters = topReporters > 0
+                ? incidentRollupRepository.findTopReporters(from, to.plusDays(1), Limit.of(topReporters))
+                : List.of();
+
+        return new IncidentTrends(from, to, bucketSize, buckets, created, transitions,
+                resolved > 0 ? Duration.ofSeconds(resolutionSeconds / resolved) : null,
+                meanTimeToResolve, reporters);
+    }
+
+    /**
+     * Per-bucket series and range totals. Series arrays are aligned with {@code buckets}.
+     * {@code created} counts new incidents by severity, {@code transitions} counts
+     * incidents entering each status (reopened incidents enter OPEN again); mean times to resolve are null without resolutions.
+     */
+    public record IncidentTrends(
+            LocalDate from,
+            LocalDate to,
+            BucketSize bucketSize,
+            List<LocalDateTime> buckets,
+            Map<Incident.Severity, long[]> created,
+            Map<Incident.Status, long[]> transitions,
+            Duration meanTimeToResolve,
+            Map<Incident.Severity, Duration> meanTimeToResolveBySeverity,
+            List<ReporterTotal> topReporters
+    ) {
+
+        public long totalCreated() {
+            return created.values().stream().mapToLong(IncidentTrends::sum).sum();
+        }
+
+        public long total(Incident.Status status) {
+            return sum(transitions.get(status));
+        }
+
+        public long total(Incident.Severity severity) {
+            return sum(created.get(severity));
+        }
+
+        private static long sum(long[] series) {
+            long sum = 0;
+            for (long value : series) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
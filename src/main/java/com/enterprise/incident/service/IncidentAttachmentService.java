@@ -0,0 +1,205 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.attachment.AttachmentStore;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentAttachment;
+import com.enterprise.incident.exception.AttachmentQuotaExceededException;
+import com.enterprise.incident.exception.IncidentNotFoundException;
+import com.enterprise.incident.repository.IncidentAttachmentRepository;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evidence files of incidents. Content goes to the {@link AttachmentStore}, outside any
+ * transaction, and only metadata rows to the database. Anyone who may view an incident
+ * may attach files to it and download them, up to a quota of stored bytes per incident
+ * and per uploading user.
+ */
+@Service
+@Timed("incident.service")
+@Slf4j
+public class IncidentAttachmentService {
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final IncidentService incidentService;
+    private final IncidentRepository incidentRepository;
+    private final IncidentAttachmentRepository attachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration sweepGracePeriod;
+    private final long incidentQuotaBytes;
+    private final long userQuotaBytes;
+
+    public IncidentAttachmentService(
+            IncidentService incidentService,
+            IncidentRepository incidentRepository,
+            IncidentAttachmentRepository attachmentRepository,
+            AttachmentStore attachmentStore,
+            TransactionTemplate transactionTemplate,
+            @Value("${incident.attachments.sweep-grace-period:PT1H}") Duration sweepGracePeriod,
+            @Value("${incident.attachments.quota.per-incident:1GB}") DataSize incidentQuota,
+            @Value("${incident.attachments.quota.per-user:5GB}") DataSize userQuota
+    ) {
+        this.incidentService = incidentService;
+        this.incidentRepository = incidentRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.attachmentStore = attachmentStore;
+        this.transactionTemplate = transactionTemplate;
+        this.sweepGracePeriod = sweepGracePeriod;
+        this.incidentQuotaBytes = incidentQuota.toBytes();
+        this.userQuotaBytes = userQuota.toBytes();
+    }
+
+    /**
+     * Attach a file of the given size to an incident. The quota is checked against that
+     * size before anything is written; the content is then streamed into the store, so a
+     * slow upload never holds a database connection, and the quota is checked again with
+     * the stored size before the attachment is recorded.
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public IncidentAttachment attach(Long incidentId, String fileName, String contentType, long size,
+                                     InputStream content, UserPrincipal user) throws IOException {
+        checkQuota(incidentId, size, user);
+
+        AttachmentStore.StoredContent stored = attachmentStore.put(content);
+        IncidentAttachment saved = transactionTemplate.execute(status -> {
+            Incident incident = incidentRepository.findById(incidentId)
+                    .orElseThrow(() -> new IncidentNotFoundException("Incident not found with ID: " + incidentId));
+            // Content left unreferenced by a refusal here is removed by the sweep
+            ensureWithinQuota(incidentId, stored.size(), user);
+            IncidentAttachment attachment = IncidentAttachment.builder()
+                    .incident(incident)
+                    .fileName(cleanFileName(fileName))
+                    .contentType(cleanContentType(contentType))
+                    .sizeBytes(stored.size())
+                    .contentHash(stored.hash())
+                    .uploadedBy(user.getUsername())
+                    .build();
+            // Through the collection so its cached copy is replaced; the incident update
+            // also invalidates it on other nodes
+            incident.getAttachments().add(attachment);
+            incident.setUpdatedAt(LocalDateTime.now());
+            return attachmentRepository.save(attachment);
+        });
+
+        log.info("Attachment {} ({} bytes, {}) added to incident {} by user: {}", saved.getId(), stored.size(),
+                stored.created() ? "new content" : "deduplicated", incidentId, user.getUsername());
+        return saved;
+    }
+
+    /**
+     * Refuse with {@link AttachmentQuotaExceededException} when attaching this many more
+     * bytes would take the incident or the user over their quota
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public void checkQuota(Long incidentId, long bytes, UserPrincipal user) {
+        incidentService.getIncidentById(incidentId, user);
+        ensureWithinQuota(incidentId, bytes, user);
+    }
+
+    private void ensureWithinQuota(Long incidentId, long bytes, UserPrincipal user) {
+        if (attachmentRepository.sumSizeByIncidentId(incidentId) + bytes > incidentQuotaBytes) {
+            log.warn("Upload of {} bytes to incident {} by user {} refused: incident quota reached",
+                    bytes, incidentId, user.getUsername());
+            throw new AttachmentQuotaExceededException("This incident's attachments would exceed "
+                    + DataSize.ofBytes(incidentQuotaBytes).toMegabytes() + " MB. Attach fewer or smaller files.");
+        }
+        if (attachmentRepository.sumSizeByUploadedBy(user.getUsername()) + bytes > userQuotaBytes) {
+            log.warn("Upload of {} bytes to incident {} by user {} refused: user quota reached",
+                    bytes, incidentId, user.getUsername());
+            throw new AttachmentQuotaExceededException("Your attachments would exceed your storage quota of "
+                    + DataSize.ofBytes(userQuotaBytes).toMegabytes() + " MB.");
+        }
+    }
+
+    /**
+     * An attachment of an incident together with the file holding its content
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public AttachmentContent getAttachmentContent(Long incidentId, Long attachmentId, UserPrincipal user) {
+        Incident incident = incidentService.getIncidentById(incidentId, user);
+        IncidentAttachment attachment = incident.getAttachments().stream()
+                .filter(candidate -> candidate.getId().equals(attachmentId))
+                .findFirst()
+                .orElseThrow(() -> new IncidentNotFoundException("Attachment not found with ID: " + attachmentId));
+
+        Path file = attachmentStore.path(attachment.getContentHash());
+        if (!Files.isReadable(file)) {
+            log.error("Content {} of attachment {} is missing from the store", attachment.getContentHash(), attachmentId);
+            throw new IncidentNotFoundException("Attachment content is not available");
+        }
+        return new AttachmentContent(attachment, file);
+    }
+
+    /**
+     * Remove stored content that no attachment refers to any more, e.g. after its incident
+     * was deleted. Content written within the grace period is kept, since the attachment
+     * referring to it may not have been committed yet.
+     */
+    @Scheduled(fixedDelayString = "${incident.attachments.sweep-interval:PT6H}",
+            initialDelayString = "${incident.attachments.sweep-interval:PT6H}")
+    public int sweepUnreferencedContent() throws IOException {
+        Instant cutoff = Instant.now().minus(sweepGracePeriod);
+        List<String> candidates = new ArrayList<>();
+        attachmentStore.forEachStoredBefore(cutoff, candidates::add);
+
+        int removed = 0;
+        for (int from = 0; from < candidates.size(); from += SWEEP_BATCH_SIZE) {
+            List<String> batch = candidates.subList(from, Math.min(from + SWEEP_BATCH_SIZE, candidates.size()));
+            Set<String> referenced = attachmentRepository.findReferencedHashes(batch);
+            for (String hash : batch) {
+                if (!referenced.contains(hash) && attachmentStore.deleteIfUnchangedSince(hash, cutoff)) {
+                    removed++;
+                }
+            }
+        }
+        log.info("Attachment sweep removed {} of {} stored files past the grace period", removed, candidates.size());
+        return removed;
+    }
+
+    private static String cleanFileName(String fileName) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(fileName == null ? "" : fileName.replace('\\', '/')));
+        if (!StringUtils.hasText(name)) {
+            return "attachment";
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private static String cleanContentType(String contentType) {
+        try {
+            String type = MediaType.parseMediaType(contentType).toString();
+            return type.length() <= 100 ? type : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+
+    /**
+     * Attachment metadata and the stored file with its content
+     */
+    public record AttachmentContent(IncidentAttachment attachment, Path file) {
+    }
+}
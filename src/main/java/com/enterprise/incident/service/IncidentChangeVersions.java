@@ -0,0 +1,59 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.cache.CacheInvalidation;
+import com.enterprise.incident.cache.CacheInvalidationChannel;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-reporter change counters behind the ETags of the "my incidents" page. A reporter's
+ * counter moves after every committed change to one of their incidents, so an unchanged
+ * counter means an unchanged list that can be revalidated without querying or rendering it.
+ * Counters live in a fixed array indexed by reporter id; reporters sharing a slot merely
+ * cost each other the occasional full response. Incident changes announced by other nodes
+ * on the cache invalidation channel move every counter.
+ */
+@Component
+public class IncidentChangeVersions {
+
+    private static final int SLOTS = 4096;
+
+    private final AtomicLongArray versions = new AtomicLongArray(SLOTS);
+    private final AtomicLong remoteChanges = new AtomicLong();
+
+    public IncidentChangeVersions(ObjectProvider<CacheInvalidationChannel> channel) {
+        channel.ifAvailable(available -> available.subscribe(this::onRemoteChange));
+    }
+
+    /**
+     * Current version of a reporter's incidents. Read it before loading them: a change
+     * committing in between then yields a newer version on the next request.
+     */
+    public String forReporter(Long reporterId) {
+        return remoteChanges.get() + "." + versions.get(slot(reporterId));
+    }
+
+    /**
+     * Move the reporter's counter once the change that produced the event has committed
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        versions.incrementAndGet(slot(event.reporterId()));
+    }
+
+    private void onRemoteChange(CacheInvalidation invalidation) {
+        if (invalidation.entityName() == null || invalidation.entityName().equals(Incident.class.getName())) {
+            remoteChanges.incrementAndGet();
+        }
+    }
+
+    private static int slot(Long reporterId) {
+        return Math.floorMod(reporterId.hashCode(), SLOTS);
+    }
+}
@@ -0,0 +1,150 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.dto.BulkIngestResult;
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams incidents out of a JSON array or NDJSON request body and stores them in
+ * fixed-size chunks, one transaction per chunk. Only one chunk is held in memory at a
+ * time. Chunks committed before a malformed line stay committed.
+ */
+@Service
+@Slf4j
+public class IncidentIngestService {
+
+    private final IncidentService incidentService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public IncidentIngestService(
+            IncidentService incidentService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${incident.ingest.chunk-size:500}") int chunkSize,
+            @Value("${incident.ingest.max-reported-errors:100}") int maxReportedErrors
+    ) {
+        this.incidentService = incidentService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Ingest a JSON array of incidents
+     */
+    public BulkIngestResult ingestJsonArray(InputStream body, UserPrincipal reporter) throws IOException {
+        JsonParser parser = objectMapper.createParser(body);
+        JsonToken first;
+        try {
+            first = parser.nextToken();
+        } catch (JsonProcessingException e) {
+            first = null;
+        }
+        if (first != JsonToken.START_ARRAY) {
+            parser.close();
+            return new BulkIngestResult(0, 0, List.of("Expected a JSON array of incidents"), 0, 0);
+        }
+        parser.nextToken();
+        return ingest(objectMapper.readValues(parser, IncidentDto.class), reporter);
+    }
+
+    /**
+     * Ingest newline-delimited JSON, one incident per line
+     */
+    public BulkIngestResult ingestNdjson(InputStream body, UserPrincipal reporter) throws IOException {
+        MappingIterator<IncidentDto> items;
+        try {
+            items = objectMapper.readerFor(IncidentDto.class).readValues(body);
+        } catch (JsonProcessingException e) {
+            // The reader parses the first token up front
+            return new BulkIngestResult(0, 1, List.of("Item 1: malformed JSON: " + e.getOriginalMessage()), 0, 0);
+        }
+        return ingest(items, reporter);
+    }
+
+    private BulkIngestResult ingest(MappingIterator<IncidentDto> items, UserPrincipal reporter) throws IOException {
+        long start = System.nanoTime();
+        long accepted = 0;
+        long rejected = 0;
+        long position = 0;
+        List<String> errors = new ArrayList<>();
+        List<IncidentDto> chunk = new ArrayList<>(chunkSize);
+
+        try (items) {
+            while (true) {
+                position++;
+                IncidentDto dto;
+                try {
+                    // Looking ahead parses the next token, so it can fail on a malformed item too
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    dto = items.nextValue();
+                } catch (JsonProcessingException e) {
+                    // The stream cannot be resynchronised after a syntax error
+                    rejected++;
+                    addError(errors, "Item " + position + ": malformed JSON: " + e.getOriginalMessage());
+                    break;
+                }
+
+                Set<ConstraintViolation<IncidentDto>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    rejected++;
+                    addError(errors, "Item " + position + ": " + violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                chunk.add(dto);
+                if (chunk.size() == chunkSize) {
+                    accepted += flush(chunk, reporter);
+                }
+            }
+        }
+        accepted += flush(chunk, reporter);
+
+        long elapsedNanos = System.nanoTime() - start;
+        double perSecond = elapsedNanos == 0 ? 0 : accepted * 1e9 / elapsedNanos;
+        log.info("Bulk ingest by {}: {} accepted, {} rejected in {} ms ({} incidents/s)",
+                reporter.getUsername(), accepted, rejected, elapsedNanos / 1_000_000, Math.round(perSecond));
+        return new BulkIngestResult(accepted, rejected, errors, elapsedNanos / 1_000_000, perSecond);
+    }
+
+    private int flush(List<IncidentDto> chunk, UserPrincipal reporter) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int stored = incidentService.createIncidents(chunk, reporter).size();
+        chunk.clear();
+        return stored;
+    }
+
+    private void addError(List<String> errors, String error) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(error);
+        }
+    }
+}
@@ -1,37 +1,72 @@
 package com.enterprise.incident.service;
 
 import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.dto.IncidentFilter;
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.dto.KeysetPage;
 import com.enterprise.incident.dto.RegistrationDto;
 import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentEvent;
 import com.enterprise.incident.entity.User;
+import com.enterprise.incident.event.IncidentChangedEvent;
 import com.enterprise.incident.exception.IncidentNotFoundException;
 import com.enterprise.incident.exception.UnauthorizedAccessException;
+import com.enterprise.incident.repository.IncidentEventRepository;
 import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.IncidentSpecifications;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.search.IncidentSearchIndex;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.similarity.IncidentSimilarityIndex;
+import com.enterprise.incident.similarity.SimilarIncident;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Service handling incident CRUD operations with authorization
  */
 @Service
+@Timed("incident.service")
 @RequiredArgsConstructor
 @Slf4j
 public class IncidentService {
 
     private final IncidentRepository incidentRepository;
+    private final IncidentEventRepository incidentEventRepository;
+    private final UserRepository userRepository;
+    private final IncidentStatisticsCache statisticsCache;
+    private final IncidentSearchIndex searchIndex;
+    private final IncidentSimilarityIndex similarityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
 
     /**
      * Create a new incident (accessible by USER and ADMIN)
      */
     @Transactional
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public Incident createIncident(IncidentDto dto, User reportedBy) {
+    public Incident createIncident(IncidentDto dto, UserPrincipal reportedBy) {
         log.info("Creating new incident by user: {}", reportedBy.getUsername());
 
         Incident incident = Incident.builder()
@@ -39,10 +74,11 @@ public class IncidentService {
                 .description(dto.getDescription())
                 .severity(dto.getSeverity())
                 .status(Incident.Status.OPEN)
-                .reportedBy(reportedBy)
+                .reportedBy(userRepository.getReferenceById(reportedBy.getId()))
                 .build();
 
         Incident saved = incidentRepository.save(incident);
+        eventPublisher.publishEvent(IncidentChangedEvent.created(saved, reportedBy.getUsername()));
         log.info("Incident created successfully with ID: {} by user: {}",
                 saved.getId(), reportedBy.getUsername());
 
@@ -50,38 +86,120 @@ public class IncidentService {
     }
 
     /**
-     * Get all incidents reported by a specific user (USER can view own)
+     * Create a batch of incidents in one transaction (accessible by USER and ADMIN).
+     * Inserts are sent as JDBC batches; callers should keep batches to a few hundred rows.
      */
-    @Transactional(readOnly = true)
+    @Transactional
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public List<Incident> getIncidentsByUser(User user) {
+    public List<Incident> createIncidents(List<IncidentDto> dtos, UserPrincipal reportedBy) {
+        log.info("Creating {} incidents in bulk for user: {}", dtos.size(), reportedBy.getUsername());
+
+        User reporter = userRepository.getReferenceById(reportedBy.getId());
+        List<Incident> incidents = dtos.stream()
+                .map(dto -> Incident.builder()
+                        .title(dto.getTitle())
+                        .description(dto.getDescription())
+                        .severity(dto.getSeverity())
+                        .status(Incident.Status.OPEN)
+                        .reportedBy(reporter)
+                        .build())
+                .toList();
+
+        List<Incident> saved = incidentRepository.saveAll(incidents);
+        saved.forEach(incident -> eventPublisher.publishEvent(
+                IncidentChangedEvent.created(incident, reportedBy.getUsername())));
+        return saved;
+    }
+
+    /**
+     * Get all incidents reported by a specific user (USER can view own). Read from the
+     * primary, not a replica: the page is revalidated by {@link IncidentChangeVersions},
+     * which moves when a change commits there, and a lagging replica could render the old
+     * list under the new version.
+     */
+    @Transactional
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public List<IncidentSummary> getIncidentsByUser(UserPrincipal user) {
         log.info("Fetching incidents for user: {}", user.getUsername());
-        return incidentRepository.findByReportedByOrderByCreatedAtDesc(user);
+        return incidentRepository.findSummariesByReporterId(user.getId());
     }
 
     /**
-     * Get all incidents in the system (ADMIN only)
+     * Get one page of the incidents matching the filter, in its sort order (ADMIN only).
+     * Pass a null cursor for the first page, otherwise the cursor of the previous page.
      */
     @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
-    public List<Incident> getAllIncidents() {
-        log.info("Fetching all incidents (admin access)");
-        return incidentRepository.findAllByOrderByCreatedAtDesc(null).getContent();
+    public KeysetPage<IncidentSummary> getIncidentPage(IncidentFilter filter, LocalDateTime afterCreatedAt,
+                                                       Long afterId, int size) {
+        log.info("Fetching incident page after ({}, {}) with {} (admin access)", afterCreatedAt, afterId, filter);
+
+        boolean ascending = filter.sort() == IncidentFilter.SortOrder.OLDEST;
+        Specification<Incident> specification = Specification
+                .where(IncidentSpecifications.hasStatusIn(filter.status()))
+                .and(IncidentSpecifications.hasSeverityIn(filter.severity()))
+                .and(IncidentSpecifications.reportedBy(filter.reporter()))
+                .and(IncidentSpecifications.createdBetween(filter.from(), filter.to()));
+        if (afterCreatedAt != null && afterId != null) {
+            specification = specification.and(ascending
+                    ? IncidentSpecifications.after(afterCreatedAt, afterId)
+                    : IncidentSpecifications.before(afterCreatedAt, afterId));
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<IncidentSummary> rows = incidentRepository.findSummaries(specification,
+                ascending ? Sort.Direction.ASC : Sort.Direction.DESC, Limit.of(size + 1));
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null, null);
+        }
+        List<IncidentSummary> content = rows.subList(0, size);
+        IncidentSummary last = content.get(size - 1);
+        return new KeysetPage<>(content, last.getCreatedAt(), last.getId());
     }
 
     /**
-     * Get incident by ID with authorization check
+     * Full-text search over title, description and admin notes, best match first (ADMIN only)
      */
     @Transactional(readOnly = true)
-    public Incident getIncidentById(Long id, User currentUser) {
-        Incident incident = incidentRepository.findById(id)
+    @PreAuthorize("hasRole('ADMIN')")
+    public Page<IncidentSummary> searchIncidents(String query, int page, int size) {
+        log.info("Searching incidents for: {}", query);
+        if (query == null || query.isBlank()) {
+            return Page.empty(PageRequest.of(page, size));
+        }
+
+        IncidentSearchIndex.SearchHits hits = searchIndex.search(query, page, size);
+        if (hits.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), PageRequest.of(page, size), hits.total());
+        }
+
+        // Restore the index's rank order, which the IN query does not preserve
+        Map<Long, IncidentSummary> byId = new HashMap<>();
+        for (IncidentSummary summary : incidentRepository.findSummariesByIdIn(hits.ids())) {
+            byId.put(summary.getId(), summary);
+        }
+        List<IncidentSummary> ranked = hits.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, PageRequest.of(page, size), hits.total());
+    }
+
+    /**
+     * Get incident by ID with authorization check. The reporter and attachments are
+     * fetched with the incident since the detail and edit pages display them.
+     */
+    @Transactional(readOnly = true)
+    public Incident getIncidentById(Long id, UserPrincipal currentUser) {
+        Incident incident = findWithReporter(id)
                 .orElseThrow(() -> {
                     log.warn("Incident not found with ID: {}", id);
                     return new IncidentNotFoundException("Incident not found with ID: " + id);
                 });
 
         // Check authorization: USER can only view own incidents, ADMIN can view all
-        if (!currentUser.getRole().equals(User.Role.ROLE_ADMIN) &&
+        if (!currentUser.isAdmin() &&
                 !incident.getReportedBy().getId().equals(currentUser.getId())) {
             log.warn("Unauthorized access attempt by user {} to incident {}",
                     currentUser.getUsername(), id);
@@ -91,23 +209,50 @@ public class IncidentService {
         return incident;
     }
 
+    /**
+     * Likely duplicates of an incident the user may already see. Served from the in-memory
+     * similarity index without touching the database; a USER is only shown their own
+     * incidents, and the matches reported by others are merely counted.
+     */
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public SimilarIncidents getSimilarIncidents(Incident incident, UserPrincipal user) {
+        List<SimilarIncident> matches = similarityIndex.findSimilar(incident.getId());
+        if (user.isAdmin()) {
+            return new SimilarIncidents(matches, 0);
+        }
+        List<SimilarIncident> visible = matches.stream()
+                .filter(match -> user.getId().equals(match.reporterId()))
+                .toList();
+        return new SimilarIncidents(visible, matches.size() - visible.size());
+    }
+
     /**
      * Update incident status and notes (ADMIN only)
      */
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    public Incident updateIncident(Long id, Incident.Status status, String adminNotes) {
+    public Incident updateIncident(Long id, Incident.Status status, String adminNotes, UserPrincipal admin) {
         log.info("Admin updating incident ID: {} to status: {}", id, status);
 
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new IncidentNotFoundException("Incident not found with ID: " + id));
 
+        Incident.Status previousStatus = incident.getStatus();
+        String changedNotes = null;
         incident.setStatus(status);
-        if (adminNotes != null && !adminNotes.isBlank()) {
+        if (status == Incident.Status.RESOLVED && previousStatus != Incident.Status.RESOLVED) {
+            incident.setResolvedAt(LocalDateTime.now());
+        } else if (status != Incident.Status.RESOLVED) {
+            incident.setResolvedAt(null);
+        }
+        if (adminNotes != null && !adminNotes.isBlank() && !adminNotes.equals(incident.getAdminNotes())) {
             incident.setAdminNotes(adminNotes);
+            changedNotes = adminNotes;
         }
 
         Incident updated = incidentRepository.save(incident);
+        eventPublisher.publishEvent(IncidentChangedEvent.updated(updated, previousStatus,
+                admin.getUsername(), changedNotes));
         log.info("Incident ID: {} updated successfully to status: {}", id, status);
 
         return updated;
@@ -118,36 +263,72 @@ public class IncidentService {
      */
     @Transactional
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteIncident(Long id) {
+    public void deleteIncident(Long id, UserPrincipal admin) {
         log.info("Admin deleting incident ID: {}", id);
 
-        if (!incidentRepository.existsById(id)) {
-            throw new IncidentNotFoundException("Incident not found with ID: " + id);
-        }
+        Incident incident = incidentRepository.findById(id)
+                .orElseThrow(() -> new IncidentNotFoundException("Incident not found with ID: " + id));
 
-        incidentRepository.deleteById(id);
+        incidentRepository.delete(incident);
+        eventPublisher.publishEvent(IncidentChangedEvent.deleted(incident, admin.getUsername()));
         log.info("Incident ID: {} deleted successfully", id);
     }
 
     /**
-     * Get incident count statistics
+     * Audit trail of an incident, oldest first (ADMIN only). Still available after the
+     * incident is deleted; the newest changes appear once the audit writer has flushed them.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<IncidentEvent> getIncidentHistory(Long id) {
+        return incidentEventRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(id);
+    }
+
+    /**
+     * Get incident count statistics. Admin figures come from the in-memory
+     * statistics cache rather than counting the incidents table on each call.
      */
     @Transactional(readOnly = true)
-    public IncidentStatistics getStatistics(User user) {
-        if (user.getRole().equals(User.Role.ROLE_ADMIN)) {
-            return new IncidentStatistics(
-                    incidentRepository.count(),
-                    incidentRepository.countByStatus(Incident.Status.OPEN),
-                    incidentRepository.countByStatus(Incident.Status.IN_PROGRESS),
-                    incidentRepository.countByStatus(Incident.Status.RESOLVED),
-                    incidentRepository.countBySeverity(Incident.Severity.CRITICAL)
-            );
+    public IncidentStatistics getStatistics(UserPrincipal user) {
+        if (user.isAdmin()) {
+            return statisticsCache.snapshot();
         } else {
-            long userTotal = incidentRepository.countByReportedBy(user);
+            long userTotal = incidentRepository.countByReportedById(user.getId());
             return new IncidentStatistics(userTotal, 0, 0, 0, 0);
         }
     }
 
+    /**
+     * Incident with its reporter and attachments loaded. A cached incident is read through
+     * the second-level cache (its reporter and attachment list usually are cached too);
+     * otherwise one join query, which would bypass the cache, loads all three.
+     */
+    private Optional<Incident> findWithReporter(Long id) {
+        if (entityManagerFactory.getCache().contains(Incident.class, id)) {
+            Optional<Incident> cached = incidentRepository.findById(id);
+            cached.ifPresent(incident -> {
+                Hibernate.initialize(incident.getReportedBy());
+                Hibernate.initialize(incident.getAttachments());
+            });
+            return cached;
+        }
+        return incidentRepository.findWithReporterById(id);
+    }
+
+    /**
+     * Likely duplicates of an incident: those the user may open, and how many others were found
+     */
+    public record SimilarIncidents(List<SimilarIncident> incidents, int hiddenCount) {
+
+        public boolean isEmpty() {
+            return incidents.isEmpty() && hiddenCount == 0;
+        }
+
+        public int total() {
+            return incidents.size() + hiddenCount;
+        }
+    }
+
     /**
      * Statistics record
      */
@@ -0,0 +1,127 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory incident counters keyed by status and severity, backing the admin dashboard.
+ * Counters are adjusted after every committed incident change and reconciled against
+ * a single grouped count query on a schedule, so reads never touch the database.
+ * <p>
+ * Changes committed while a reconcile's query runs are recorded as well and added to its
+ * result, so none is lost when the counters are replaced; the listeners never wait for the
+ * query. A change whose commit the query already saw but whose event only arrives after
+ * the query started is counted twice until the next reconcile.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IncidentStatisticsCache {
+
+    private static final Incident.Status[] STATUSES = Incident.Status.values();
+    private static final Incident.Severity[] SEVERITIES = Incident.Severity.values();
+
+    private final IncidentRepository incidentRepository;
+
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length * SEVERITIES.length);
+    private volatile boolean initialized = false;
+    // Guards counter updates against the swap at the end of a reconcile
+    private final Object deltaLock = new Object();
+    // Deltas since the running reconcile's query started; null when no reconcile runs
+    private long[] pendingDeltas;
+
+    /**
+     * Current counters as a dashboard statistics snapshot
+     */
+    public IncidentService.IncidentStatistics snapshot() {
+        if (!initialized) {
+            reconcile();
+        }
+
+        long total = 0;
+        long[] byStatus = new long[STATUSES.length];
+        long critical = 0;
+        for (Incident.Status status : STATUSES) {
+            for (Incident.Severity severity : SEVERITIES) {
+                long count = counts.get(slot(status, severity));
+                total += count;
+                byStatus[status.ordinal()] += count;
+                if (severity == Incident.Severity.CRITICAL) {
+                    critical += count;
+                }
+            }
+        }
+
+        return new IncidentService.IncidentStatistics(
+                total,
+                byStatus[Incident.Status.OPEN.ordinal()],
+                byStatus[Incident.Status.IN_PROGRESS.ordinal()],
+                byStatus[Incident.Status.RESOLVED.ordinal()],
+                critical
+        );
+    }
+
+    /**
+     * Adjust counters once the change that produced the event has committed
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        synchronized (deltaLock) {
+            if (event.previousStatus() != null) {
+                add(slot(event.previousStatus(), event.severity()), -1);
+            }
+            if (event.status() != null) {
+                add(slot(event.status(), event.severity()), 1);
+            }
+        }
+    }
+
+    private void add(int slot, long delta) {
+        counts.addAndGet(slot, delta);
+        if (pendingDeltas != null) {
+            pendingDeltas[slot] += delta;
+        }
+    }
+
+    /**
+     * Rebuild all counters from one grouped aggregate query, plus the changes committed on
+     * this node while it ran. Corrects any drift from changes made outside this node.
+     */
+    @Scheduled(fixedDelayString = "${incident.statistics.reconcile-interval:PT5M}",
+            initialDelayString = "${incident.statistics.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        long[] deltas = new long[counts.length()];
+        synchronized (deltaLock) {
+            pendingDeltas = deltas;
+        }
+        try {
+            long[] fresh = new long[counts.length()];
+            for (IncidentRepository.StatusSeverityCount row : incidentRepository.countGroupedByStatusAndSeverity()) {
+                fresh[slot(row.getStatus(), row.getSeverity())] = row.getTotal();
+            }
+            synchronized (deltaLock) {
+                for (int i = 0; i < fresh.length; i++) {
+                    counts.set(i, fresh[i] + deltas[i]);
+                }
+            }
+        } finally {
+            synchronized (deltaLock) {
+                pendingDeltas = null;
+            }
+        }
+        initialized = true;
+        log.debug("Incident statistics reconciled");
+    }
+
+    private static int slot(Incident.Status status, Incident.Severity severity) {
+        return status.ordinal() * SEVERITIES.length + severity.ordinal();
+    }
+}
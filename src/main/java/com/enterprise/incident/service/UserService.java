@@ -2,11 +2,16 @@ package com.enterprise.incident.service;
 
 import com.enterprise.incident.dto.RegistrationDto;
 import com.enterprise.incident.entity.User;
+import com.enterprise.incident.event.UserAccountChangedEvent;
 import com.enterprise.incident.exception.UserAlreadyExistsException;
 import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,26 +22,47 @@ import org.springframework.transaction.annotation.Transactional;
  * Service handling user operations and authentication
  */
 @Service
+@Timed("incident.service")
 @RequiredArgsConstructor
 @Slf4j
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Load user by username for Spring Security authentication
+     * Load user by username for Spring Security authentication.
+     * Returns an immutable snapshot rather than the managed entity. Read-write, so the
+     * account is read from the primary and a disabled user cannot log in from a lagging replica.
      */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.info("Attempting to load user: {}", username);
         return userRepository.findByUsername(username)
+                .map(UserPrincipal::from)
                 .orElseThrow(() -> {
                     log.warn("User not found: {}", username);
                     return new UsernameNotFoundException("User not found: " + username);
                 });
     }
 
+    /**
+     * Store a re-hashed password after a successful login, when the stored hash
+     * uses an outdated algorithm or work factor. Called by the authentication provider.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = findByUsername(userDetails.getUsername());
+        log.info("Upgrading password hash for user: {}", user.getUsername());
+
+        user.setPassword(newPassword);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername()));
+        return UserPrincipal.from(userRepository.save(user));
+    }
+
     /**
      * Register a new user with USER role
      */
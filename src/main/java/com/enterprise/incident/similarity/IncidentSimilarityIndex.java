@@ -0,0 +1,352 @@
+package com.enterprise.incident.similarity;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory near-duplicate index over incident titles and descriptions. Each incident's
+ * MinHash signature is split into {@link #BANDS} bands of {@link #ROWS} rows and filed
+ * under one bucket per band (locality-sensitive hashing), so a lookup only compares the
+ * incidents sharing a bucket with it instead of every incident. With 20 bands of 3 rows,
+ * pairs at 0.5 similarity share a bucket 93% of the time and pairs at 0.1 about 2%.
+ * Kept in step with committed changes; costs roughly 2 KB of heap per incident.
+ * <p>
+ * Only incidents reported within {@code incident.similarity.window} are indexed, at most
+ * {@code incident.similarity.max-entries} of them; the oldest are evicted first, which
+ * bounds the heap to about 2 KB times max-entries. A rebuild reads the window into a new
+ * index without holding the lock, then swaps it in after replaying the changes that
+ * committed meanwhile, so lookups are answered from the old index throughout.
+ * <p>
+ * Each node keeps its own index and only sees the changes it commits itself: it does not
+ * follow the cache invalidation channel, so with several nodes incidents reported on
+ * another node are missed until the next restart. Meant for a single node.
+ */
+@Component
+@Slf4j
+public class IncidentSimilarityIndex {
+
+    private static final int BANDS = 20;
+    private static final int ROWS = MinHash.SIZE / BANDS;
+    // Bounds the work of a lookup when many incidents share one bucket (identical boilerplate)
+    private static final int MAX_CANDIDATES = 2000;
+
+    private final IncidentRepository incidentRepository;
+    private final double threshold;
+    private final int maxResults;
+    private final Duration window;
+    private final int maxEntries;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Changes committed while a rebuild reads the database; null when no rebuild runs
+    private List<IncidentChangedEvent> pendingReplay;
+
+    public IncidentSimilarityIndex(
+            IncidentRepository incidentRepository,
+            @Value("${incident.similarity.threshold:0.5}") double threshold,
+            @Value("${incident.similarity.max-results:5}") int maxResults,
+            @Value("${incident.similarity.window:P90D}") Duration window,
+            @Value("${incident.similarity.max-entries:50000}") int maxEntries
+    ) {
+        this.incidentRepository = incidentRepository;
+        this.threshold = threshold;
+        this.maxResults = maxResults;
+        this.window = window;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Index the incidents of the window once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingReplay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = null;
+        try (Stream<IncidentRepository.IncidentSimilaritySource> rows =
+                     incidentRepository.streamForSimilarityCreatedSince(LocalDateTime.now().minus(window))) {
+            Index reading = new Index();
+            rows.forEach(row -> reading.add(row.getId(), row.getTitle(), row.getDescription(),
+                    row.getReporterId(), row.getSeverity(), row.getStatus(), row.getCreatedAt()));
+            rebuilt = reading;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    // Replaying is idempotent, so changes the stream already saw do no harm
+                    pendingReplay.forEach(rebuilt::apply);
+                    index = rebuilt;
+                }
+                pendingReplay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Similarity index built with {} incidents", rebuilt.size());
+    }
+
+    /**
+     * Keep the index in step with committed incident changes, from the event alone so bulk
+     * ingestion adds no query per incident. Title and description never change after
+     * creation, so updates only refresh the status shown next to a match.
+     */
+    @TransactionalEventListener
+    public void onIncidentChanged(IncidentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (pendingReplay != null) {
+                pendingReplay.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to the configured number of indexed incidents at least as similar to the given
+     * one as the threshold, most similar first (oldest first among equals, since that is
+     * usually the original report)
+     */
+    public List<SimilarIncident> findSimilar(Long incidentId) {
+        List<SimilarIncident> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Entry entry = index.entries.get(incidentId);
+            if (entry == null) {
+                return List.of();
+            }
+            for (Long candidateId : index.candidates(entry.signature())) {
+                Entry candidate = index.entries.get(candidateId);
+                if (candidate == null || candidateId.equals(incidentId)) {
+                    continue;
+                }
+                double similarity = MinHash.similarity(entry.signature(), candidate.signature());
+                if (similarity >= threshold) {
+                    matches.add(candidate.toSimilarIncident(similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(SimilarIncident::similarity).reversed()
+                        .thenComparing(SimilarIncident::id))
+                .limit(maxResults)
+                .toList();
+    }
+
+    /**
+     * Number of incidents currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hash of one band's rows, salted with the band number so equal rows in different
+     * bands land in different buckets
+     */
+    private static long bucketKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9e3779b97f4a7c15L + signature[row];
+        }
+        return key;
+    }
+
+    /**
+     * Entries in the order they were added (oldest first) and their LSH buckets. Not
+     * thread-safe: the live index is guarded by the lock, a rebuilt one is private until
+     * it is swapped in.
+     */
+    private final class Index {
+
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+        private final Map<Long, Bucket> buckets = new HashMap<>();
+
+        int size() {
+            return entries.size();
+        }
+
+        void apply(IncidentChangedEvent event) {
+            switch (event.type()) {
+                case CREATED -> {
+                    remove(event.incidentId());
+                    add(event.incidentId(), event.title(), event.description(), event.reporterId(),
+                            event.severity(), event.status(), event.incidentCreatedAt());
+                }
+                case UPDATED -> entries.computeIfPresent(event.incidentId(), (id, entry) -> entry.withStatus(event.status()));
+                case DELETED -> remove(event.incidentId());
+            }
+        }
+
+        void add(long id, String title, String description, Long reporterId,
+                 Incident.Severity severity, Incident.Status status, LocalDateTime createdAt) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(window);
+            if (createdAt.isBefore(cutoff)) {
+                return;
+            }
+            int[] signature = MinHash.signature(title, description);
+            if (signature.length == 0) {
+                return;
+            }
+            entries.put(id, new Entry(id, title, reporterId, severity, status, createdAt, signature));
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bucketKey(signature, band), key -> new Bucket()).add(id);
+            }
+            evict(cutoff);
+        }
+
+        void remove(Long incidentId) {
+            Entry entry = entries.remove(incidentId);
+            if (entry != null) {
+                unfile(entry);
+            }
+        }
+
+        Set<Long> candidates(int[] signature) {
+            Set<Long> candidates = new LinkedHashSet<>();
+            for (int band = 0; band < BANDS; band++) {
+                Bucket bucket = buckets.get(bucketKey(signature, band));
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size; i++) {
+                    if (entries.containsKey(bucket.ids[i])) {
+                        candidates.add(bucket.ids[i]);
+                    }
+                    if (candidates.size() >= MAX_CANDIDATES) {
+                        return candidates;
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * Drop the oldest entries beyond the size bound or outside the window
+         */
+        private void evict(LocalDateTime cutoff) {
+            Iterator<Entry> oldest = entries.values().iterator();
+            while (oldest.hasNext()) {
+                Entry entry = oldest.next();
+                if (entries.size() <= maxEntries && !entry.createdAt().isBefore(cutoff)) {
+                    return;
+                }
+                oldest.remove();
+                unfile(entry);
+            }
+        }
+
+        /**
+         * Mark the removed entry's ids in its buckets as stale; a bucket is compacted once
+         * half of it is stale, so removal costs amortised constant time even in hot buckets
+         */
+        private void unfile(Entry entry) {
+            for (int band = 0; band < BANDS; band++) {
+                long key = bucketKey(entry.signature(), band);
+                Bucket bucket = buckets.get(key);
+                if (bucket != null && ++bucket.stale * 2 > bucket.size) {
+                    bucket.compact(entries::containsKey);
+                    if (bucket.size == 0) {
+                        buckets.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids filed under one LSH bucket, in an array that doubles when full. Ids of removed
+     * entries stay until the bucket is compacted; lookups skip them.
+     */
+    private static final class Bucket {
+
+        private long[] ids = new long[2];
+        private int size;
+        private int stale;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * Keep one copy of each id that is still indexed, shrinking the array when mostly empty
+         */
+        void compact(LongPredicate indexed) {
+            Set<Long> kept = new HashSet<>();
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (indexed.test(ids[i]) && kept.add(ids[i])) {
+                    ids[count++] = ids[i];
+                }
+            }
+            size = count;
+            stale = 0;
+            if (size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(2, size * 2));
+            }
+        }
+    }
+
+    private record Entry(
+            Long id,
+            String title,
+            Long reporterId,
+            Incident.Severity severity,
+            Incident.Status status,
+            LocalDateTime createdAt,
+            int[] signature
+    ) {
+
+        Entry withStatus(Incident.Status newStatus) {
+            return new Entry(id, title, reporterId, severity, newStatus, createdAt, signature);
+        }
+
+        SimilarIncident toSimilarIncident(double similarity) {
+            return new SimilarIncident(id, title, reporterId, severity, status, createdAt, similarity);
+        }
+    }
+}
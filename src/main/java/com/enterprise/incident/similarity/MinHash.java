@@ -0,0 +1,107 @@
+package com.enterprise.incident.similarity;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures of incident text. Title and description are reduced to a set of
+ * shingles (single words and adjacent word pairs, lower-cased, stop words dropped); each
+ * of the {@link #SIZE} hash functions keeps the smallest hash of any shingle, and the
+ * share of positions at which two signatures agree estimates the Jaccard similarity of
+ * their shingle sets.
+ */
+final class MinHash {
+
+    /**
+     * Hash functions per signature
+     */
+    static final int SIZE = 60;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "were", "with");
+
+    // Fixed seeds, so signatures are comparable across restarts and nodes
+    private static final long[] SEEDS = new SplittableRandom(0x5eedL).longs(SIZE).toArray();
+
+    private MinHash() {
+    }
+
+    /**
+     * Signature of the text, or an empty array when it has no meaningful words
+     */
+    static int[] signature(String title, String description) {
+        Set<String> shingles = new HashSet<>();
+        addShingles(title, shingles);
+        addShingles(description, shingles);
+        if (shingles.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = fnv1a(shingle);
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the texts two signatures were taken from, 0 to 1
+     */
+    static double similarity(int[] a, int[] b) {
+        int agreeing = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                agreeing++;
+            }
+        }
+        return (double) agreeing / SIZE;
+    }
+
+    private static void addShingles(String text, Set<String> shingles) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String previous = null;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            boolean meaningful = token.length() > 1 || (!token.isEmpty() && Character.isDigit(token.charAt(0)));
+            if (!meaningful || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            shingles.add(token);
+            if (previous != null) {
+                shingles.add(previous + ' ' + token);
+            }
+            previous = token;
+        }
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer: spreads every input bit over the whole result
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,20 @@
+package com.enterprise.incident.similarity;
+
+import com.enterprise.incident.entity.Incident;
+
+import java.time.LocalDateTime;
+
+/**
+ * An incident whose title and description closely match another's, with the estimated
+ * Jaccard similarity of their word shingles (0 to 1)
+ */
+public record SimilarIncident(
+        Long id,
+        String title,
+        Long reporterId,
+        Incident.Severity severity,
+        Incident.Status status,
+        LocalDateTime createdAt,
+        double similarity
+) {
+}
@@ -0,0 +1,72 @@
+-- H2 counterpart of postgresql/V1__baseline.sql, for tests and local runs. Full-text
+-- search is served by the in-memory index, so there is no search_vector column.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS incidents_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS incidents (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT NOT NULL,
+    severity VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    admin_notes TEXT,
+    reported_by_id BIGINT NOT NULL REFERENCES users (id),
+    resolved_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE incidents ADD COLUMN IF NOT EXISTS resolved_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_status ON incidents (status);
+CREATE INDEX IF NOT EXISTS idx_severity ON incidents (severity);
+CREATE INDEX IF NOT EXISTS idx_reported_by ON incidents (reported_by_id);
+CREATE INDEX IF NOT EXISTS idx_created_at ON incidents (created_at);
+CREATE INDEX IF NOT EXISTS idx_created_at_id ON incidents (created_at, id);
+
+-- Incidents of the first release already hold ids: move the sequence past the highest one
+ALTER SEQUENCE incidents_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM incidents);
+
+CREATE SEQUENCE IF NOT EXISTS incident_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS incident_events (
+    id BIGINT PRIMARY KEY,
+    incident_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    actor VARCHAR(50) NOT NULL,
+    from_status VARCHAR(20),
+    to_status VARCHAR(20),
+    severity VARCHAR(20) NOT NULL,
+    admin_notes TEXT,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_incident_events_incident ON incident_events (incident_id, occurred_at);
+
+CREATE TABLE IF NOT EXISTS incident_rollups (
+    bucket_size VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    severity VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    entered BIGINT NOT NULL,
+    resolution_seconds BIGINT NOT NULL,
+    PRIMARY KEY (bucket_size, bucket_start, severity, status)
+);
+
+CREATE TABLE IF NOT EXISTS reporter_rollups (
+    bucket_day DATE NOT NULL,
+    reporter_id BIGINT NOT NULL,
+    reported BIGINT NOT NULL,
+    PRIMARY KEY (bucket_day, reporter_id)
+);
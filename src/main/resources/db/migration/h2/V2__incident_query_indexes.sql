@@ -0,0 +1,13 @@
+-- H2 counterpart of postgresql/V2__incident_query_indexes.sql. H2 has no partial
+-- indexes, so lists of active incidents use idx_incidents_status_created.
+
+CREATE INDEX idx_incidents_reporter_created ON incidents (reported_by_id, created_at DESC, id DESC);
+CREATE INDEX idx_incidents_status_created ON incidents (status, created_at DESC, id DESC);
+CREATE INDEX idx_incidents_severity_created ON incidents (severity, created_at DESC, id DESC);
+CREATE INDEX idx_incidents_created ON incidents (created_at DESC, id DESC);
+
+DROP INDEX idx_status;
+DROP INDEX idx_severity;
+DROP INDEX idx_reported_by;
+DROP INDEX idx_created_at;
+DROP INDEX idx_created_at_id;
@@ -0,0 +1,17 @@
+-- H2 counterpart of postgresql/V3__incident_attachments.sql
+
+CREATE SEQUENCE incident_attachments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE incident_attachments (
+    id BIGINT PRIMARY KEY,
+    incident_id BIGINT NOT NULL REFERENCES incidents (id) ON DELETE CASCADE,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    uploaded_by VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_incident_attachments_incident ON incident_attachments (incident_id, id);
+CREATE INDEX idx_incident_attachments_content ON incident_attachments (content_hash);
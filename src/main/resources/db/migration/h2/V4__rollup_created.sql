@@ -0,0 +1,5 @@
+-- H2 counterpart of postgresql/V4__rollup_created.sql
+
+ALTER TABLE incident_rollups ADD COLUMN created BIGINT NOT NULL DEFAULT 0;
+
+UPDATE incident_rollups SET created = entered WHERE status = 'OPEN';
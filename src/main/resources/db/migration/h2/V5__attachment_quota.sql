@@ -0,0 +1,3 @@
+-- H2 counterpart of postgresql/V5__attachment_quota.sql
+
+CREATE INDEX idx_incident_attachments_uploader ON incident_attachments (uploaded_by, size_bytes);
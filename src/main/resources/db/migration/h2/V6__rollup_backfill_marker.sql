@@ -0,0 +1,10 @@
+-- H2 counterpart of postgresql/V6__rollup_backfill_marker.sql
+
+CREATE TABLE rollup_backfill (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    completed BOOLEAN NOT NULL,
+    cutoff_at TIMESTAMP(6)
+);
+
+INSERT INTO rollup_backfill (id, completed)
+SELECT 1, EXISTS (SELECT 1 FROM incident_rollups);
@@ -0,0 +1,92 @@
+-- Schema as it stood before migrations were introduced. Databases created by the first
+-- release (Hibernate's ddl-auto: update) are baselined at version 0, so this script also
+-- runs on them: every statement is idempotent and only adds what that release lacked.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+-- Pooled id sequence used by Hibernate (allocation size 50). The first release used
+-- BIGSERIAL ids; its rows are moved past once the table exists (see below).
+CREATE SEQUENCE IF NOT EXISTS incidents_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS incidents (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT NOT NULL,
+    severity VARCHAR(20) NOT NULL CHECK (severity IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    admin_notes TEXT,
+    reported_by_id BIGINT NOT NULL REFERENCES users (id),
+    resolved_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+-- Not in the first release
+ALTER TABLE incidents ADD COLUMN IF NOT EXISTS resolved_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_status ON incidents (status);
+CREATE INDEX IF NOT EXISTS idx_severity ON incidents (severity);
+CREATE INDEX IF NOT EXISTS idx_reported_by ON incidents (reported_by_id);
+CREATE INDEX IF NOT EXISTS idx_created_at ON incidents (created_at);
+CREATE INDEX IF NOT EXISTS idx_created_at_id ON incidents (created_at, id);
+
+-- Incidents of the first release already hold ids: move the sequence past the highest one
+SELECT setval('incidents_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM incidents) + 50,
+        (SELECT last_value FROM incidents_seq)));
+
+-- Full-text search, weighted so that title matches rank above description and
+-- admin notes matches
+ALTER TABLE incidents ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(admin_notes, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_incidents_search ON incidents USING GIN (search_vector);
+
+-- Append-only audit trail of incident state transitions (no FK: outlives deleted incidents)
+CREATE SEQUENCE IF NOT EXISTS incident_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS incident_events (
+    id BIGINT PRIMARY KEY,
+    incident_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL CHECK (event_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    actor VARCHAR(50) NOT NULL,
+    from_status VARCHAR(20) CHECK (from_status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    to_status VARCHAR(20) CHECK (to_status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    severity VARCHAR(20) NOT NULL CHECK (severity IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    admin_notes TEXT,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_incident_events_incident ON incident_events (incident_id, occurred_at);
+
+-- Pre-aggregated analytics: deltas of committed incident changes are upserted in batches
+-- by IncidentRollupMaintainer; incidents older than the rollups are backfilled once
+CREATE TABLE IF NOT EXISTS incident_rollups (
+    bucket_size VARCHAR(10) NOT NULL CHECK (bucket_size IN ('HOUR', 'DAY')),
+    bucket_start TIMESTAMP(6) NOT NULL,
+    severity VARCHAR(20) NOT NULL CHECK (severity IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    entered BIGINT NOT NULL,
+    resolution_seconds BIGINT NOT NULL,
+    PRIMARY KEY (bucket_size, bucket_start, severity, status)
+);
+
+CREATE TABLE IF NOT EXISTS reporter_rollups (
+    bucket_day DATE NOT NULL,
+    reporter_id BIGINT NOT NULL,
+    reported BIGINT NOT NULL,
+    PRIMARY KEY (bucket_day, reporter_id)
+);
@@ -0,0 +1,38 @@
+-- Indexes matched to the incident lists: My incidents and the admin list, which may
+-- combine status, severity, reporter and date filters (IncidentSpecifications). Every list
+-- is ordered by (created_at, id), newest or oldest first, and paged with a keyset cursor.
+-- With one status, one severity or the reporter fixed, the matching index below yields
+-- the rows in list order and the scan stops after the page, checking any other filters on
+-- the rows it reads; several statuses or severities at once are read per value and sorted.
+--
+-- Built CONCURRENTLY so writers are not blocked; Flyway runs this migration outside a
+-- transaction. If a build fails it leaves an INVALID index behind: drop it and re-run.
+
+-- My incidents (findSummariesByReporterId) and the dashboard's countByReportedById
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incidents_reporter_created
+    ON incidents (reported_by_id, created_at DESC, id DESC);
+
+-- Incident lists filtered by status or severity
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incidents_status_created
+    ON incidents (status, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incidents_severity_created
+    ON incidents (severity, created_at DESC, id DESC);
+
+-- Open and in-progress incidents are a small, hot fraction of the table: lists of them
+-- (status IN ('OPEN', 'IN_PROGRESS'), or either status alone) scan this small index,
+-- which stays in memory, instead of the full status index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incidents_active_created
+    ON incidents (created_at DESC, id DESC)
+    WHERE status IN ('OPEN', 'IN_PROGRESS');
+
+-- Unfiltered and date-range lists: newest first reads it forwards, oldest first backwards
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_incidents_created
+    ON incidents (created_at DESC, id DESC);
+
+-- Superseded: each is a prefix of, or the reverse of, an index above and only costs writes
+DROP INDEX CONCURRENTLY IF EXISTS idx_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_severity;
+DROP INDEX CONCURRENTLY IF EXISTS idx_reported_by;
+DROP INDEX CONCURRENTLY IF EXISTS idx_created_at;
+DROP INDEX CONCURRENTLY IF EXISTS idx_created_at_id;
@@ -0,0 +1,22 @@
+-- Evidence files attached to incidents. Only metadata is stored here; the content is in
+-- the content-addressed attachment store, keyed by content_hash (hex SHA-256), so several
+-- rows may share one file.
+
+CREATE SEQUENCE incident_attachments_seq INCREMENT BY 50;
+
+CREATE TABLE incident_attachments (
+    id BIGINT PRIMARY KEY,
+    incident_id BIGINT NOT NULL REFERENCES incidents (id) ON DELETE CASCADE,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL CHECK (size_bytes >= 0),
+    content_hash VARCHAR(64) NOT NULL CHECK (content_hash ~ '^[0-9a-f]{64}$'),
+    uploaded_by VARCHAR(50) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- Attachment list of an incident, in upload order
+CREATE INDEX idx_incident_attachments_incident ON incident_attachments (incident_id, id);
+
+-- Reference checks of the store's unreferenced-content sweep
+CREATE INDEX idx_incident_attachments_content ON incident_attachments (content_hash);
@@ -0,0 +1,7 @@
+-- New incidents per bucket, counted apart from "entered" so that incidents reopened into
+-- OPEN are not mistaken for new ones. Rows written before this version cannot tell the
+-- two apart, so they keep counting every entry into OPEN as a creation.
+
+ALTER TABLE incident_rollups ADD COLUMN created BIGINT NOT NULL DEFAULT 0;
+
+UPDATE incident_rollups SET created = entered WHERE status = 'OPEN';
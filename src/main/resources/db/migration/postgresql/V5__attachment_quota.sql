@@ -0,0 +1,4 @@
+-- Upload quotas sum the bytes a user has attached; covering the size keeps that an
+-- index-only scan. The per-incident sum uses idx_incident_attachments_incident.
+
+CREATE INDEX idx_incident_attachments_uploader ON incident_attachments (uploaded_by, size_bytes);
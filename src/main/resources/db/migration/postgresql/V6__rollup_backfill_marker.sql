@@ -0,0 +1,13 @@
+-- Marks the one-time backfill of the analytics rollups from existing incidents. The node
+-- that flips "completed" holds the row lock until its backfill commits, so only one node
+-- backfills; cutoff_at is the creation time up to which it counted incidents, live deltas
+-- count everything after it. Rollups already populated need no backfill and get no cutoff.
+
+CREATE TABLE rollup_backfill (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    completed BOOLEAN NOT NULL,
+    cutoff_at TIMESTAMP(6)
+);
+
+INSERT INTO rollup_backfill (id, completed)
+SELECT 1, EXISTS (SELECT 1 FROM incident_rollups);
@@ -0,0 +1,171 @@
+package com.enterprise.incident;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard and incident list throughput under many concurrent clients, with Tomcat on
+ * platform threads and on virtual threads. Run with {@code mvn test -Pbenchmark}; load can
+ * be changed with {@code -Dbenchmark.concurrency=N} and {@code -Dbenchmark.requests=N}.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadTests {
+
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+	private static final String[] PAGES = {"/dashboard", "/admin/incidents"};
+
+	@Test
+	void platformVersusVirtualThreads() throws Exception {
+		int concurrency = Integer.getInteger("benchmark.concurrency", 1000);
+		int requests = Integer.getInteger("benchmark.requests", 20000);
+
+		System.out.printf("%n%-10s %10s %10s %10s %10s %8s %14s%n",
+				"threads", "req/sec", "p50 ms", "p99 ms", "max ms", "errors", "peak threads");
+		for (boolean virtual : new boolean[]{false, true}) {
+			try (ConfigurableApplicationContext context = start(virtual)) {
+				Result result = run(context, concurrency, requests);
+				System.out.printf("%-10s %10.1f %10.1f %10.1f %10.1f %8d %14d%n",
+						virtual ? "virtual" : "platform", result.perSecond(), result.percentile(50),
+						result.percentile(99), result.percentile(100), result.errors(), result.peakThreads());
+				assertThat(result.errors()).isZero();
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext start(boolean virtual) {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(IncidentApplication.class).run(
+				"--server.port=0",
+				"--spring.threads.virtual.enabled=" + virtual,
+				"--spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+				"--spring.jpa.properties.hibernate.generate_statistics=false",
+				"--logging.level.root=WARN",
+				"--logging.level.org.hibernate.SQL=WARN",
+				"--logging.level.org.springframework.security=WARN",
+				"--logging.level.com.enterprise.incident=WARN");
+
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		User admin = userRepository.save(User.builder()
+				.username("load-admin")
+				.email("load-admin@example.com")
+				.password(context.getBean(PasswordEncoder.class).encode("Load-Test-1!"))
+				.role(User.Role.ROLE_ADMIN)
+				.build());
+		List<Incident> incidents = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			incidents.add(Incident.builder()
+					.title("Load incident " + i)
+					.description("Seeded for the virtual thread load test")
+					.severity(Incident.Severity.values()[i % Incident.Severity.values().length])
+					.reportedBy(admin)
+					.build());
+		}
+		context.getBean(IncidentRepository.class).saveAll(incidents);
+		return context;
+	}
+
+	private static Result run(ConfigurableApplicationContext context, int concurrency, int requests) throws Exception {
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		String base = "http://localhost:" + port;
+		ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.cookieHandler(new CookieManager())
+				.executor(clients)
+				.connectTimeout(Duration.ofSeconds(30))
+				.build();
+		login(http, base);
+		for (int i = 0; i < 200; i++) {
+			get(http, base + PAGES[i % PAGES.length]); // warm-up
+		}
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		threads.resetPeakThreadCount();
+		long[] latencies = new long[requests];
+		AtomicInteger next = new AtomicInteger();
+		LongAdder errors = new LongAdder();
+
+		long start = System.nanoTime();
+		List<Future<?>> workers = new ArrayList<>();
+		for (int c = 0; c < concurrency; c++) {
+			workers.add(clients.submit(() -> {
+				int i;
+				while ((i = next.getAndIncrement()) < requests) {
+					long sent = System.nanoTime();
+					try {
+						if (get(http, base + PAGES[i % PAGES.length]) != 200) {
+							errors.increment();
+						}
+					} catch (Exception e) {
+						errors.increment();
+					}
+					latencies[i] = System.nanoTime() - sent;
+				}
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		clients.shutdown();
+
+		Arrays.sort(latencies);
+		return new Result(requests / seconds, latencies, errors.sum(), threads.getPeakThreadCount());
+	}
+
+	private static void login(HttpClient http, String base) throws Exception {
+		HttpResponse<String> page = http.send(HttpRequest.newBuilder(URI.create(base + "/login")).build(),
+				HttpResponse.BodyHandlers.ofString());
+		Matcher csrf = CSRF.matcher(page.body());
+		assertThat(csrf.find()).isTrue();
+
+		HttpResponse<Void> login = http.send(HttpRequest.newBuilder(URI.create(base + "/login"))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(
+						"username=load-admin&password=Load-Test-1!&_csrf=" + csrf.group(1)))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		assertThat(login.headers().firstValue("Location")).hasValueSatisfying(
+				location -> assertThat(location).endsWith("/dashboard"));
+	}
+
+	private static int get(HttpClient http, String url) throws Exception {
+		return http.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).build(),
+				HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private record Result(double perSecond, long[] sortedLatencies, long errors, int peakThreads) {
+
+		double percentile(int p) {
+			int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1);
+			return sortedLatencies[Math.max(index, 0)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.enterprise.incident.analytics;
+
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentRollup.BucketSize;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.IncidentRollupRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentAnalyticsService;
+import com.enterprise.incident.service.IncidentAnalyticsService.IncidentTrends;
+import com.enterprise.incident.service.IncidentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incident trends read from the rollups: a reopened incident enters OPEN again without
+ * counting as a new one, resolutions feed the time to resolve, nothing is visible
+ * until the pending deltas are flushed, and existing incidents are backfilled once.
+ */
+@SpringBootTest
+class IncidentRollupTests {
+
+	@Autowired
+	private IncidentRollupMaintainer rollupMaintainer;
+
+	@Autowired
+	private IncidentAnalyticsService analyticsService;
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private IncidentRollupRepository incidentRollupRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UserPrincipal admin;
+
+	@BeforeEach
+	void seed() {
+		// Start from empty rollups, including deltas other test classes left pending
+		rollupMaintainer.flush();
+		clearRollups();
+		admin = UserPrincipal.from(userRepository.save(User.builder()
+				.username("rollup-admin")
+				.email("rollup-admin@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_ADMIN)
+				.build()));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		rollupMaintainer.flush();
+		clearRollups();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void changesAreCountedOnceFlushed() {
+		incidentService.createIncident(dto(Incident.Severity.HIGH), admin);
+		assertThat(trends(BucketSize.DAY).totalCreated()).isZero();
+
+		rollupMaintainer.flush();
+
+		IncidentTrends trends = trends(BucketSize.DAY);
+		assertThat(trends.totalCreated()).isEqualTo(1);
+		assertThat(trends.total(Incident.Severity.HIGH)).isEqualTo(1);
+		assertThat(trends.total(Incident.Status.OPEN)).isEqualTo(1);
+		assertThat(trends.topReporters()).singleElement()
+				.satisfies(reporter -> {
+					assertThat(reporter.getUsername()).isEqualTo("rollup-admin");
+					assertThat(reporter.getReported()).isEqualTo(1);
+				});
+	}
+
+	@Test
+	void reopenedIncidentIsNotCountedAsCreated() {
+		Incident incident = incidentService.createIncident(dto(Incident.Severity.CRITICAL), admin);
+		incidentService.updateIncident(incident.getId(), Incident.Status.RESOLVED, null, admin);
+		incidentService.updateIncident(incident.getId(), Incident.Status.OPEN, "Came back", admin);
+		incidentService.updateIncident(incident.getId(), Incident.Status.RESOLVED, null, admin);
+		rollupMaintainer.flush();
+
+		for (BucketSize bucketSize : BucketSize.values()) {
+			IncidentTrends trends = trends(bucketSize);
+			assertThat(trends.totalCreated()).isEqualTo(1);
+			assertThat(trends.total(Incident.Severity.CRITICAL)).isEqualTo(1);
+			assertThat(trends.total(Incident.Status.OPEN)).isEqualTo(2);
+			assertThat(trends.total(Incident.Status.RESOLVED)).isEqualTo(2);
+			assertThat(trends.meanTimeToResolve()).isNotNull();
+			assertThat(trends.meanTimeToResolveBySeverity()).containsOnlyKeys(Incident.Severity.CRITICAL);
+		}
+	}
+
+	@Test
+	void newIncidentsAreCountedPerSeverity() {
+		incidentService.createIncident(dto(Incident.Severity.LOW), admin);
+		incidentService.createIncident(dto(Incident.Severity.LOW), admin);
+		Incident started = incidentService.createIncident(dto(Incident.Severity.MEDIUM), admin);
+		incidentService.updateIncident(started.getId(), Incident.Status.IN_PROGRESS, null, admin);
+		rollupMaintainer.flush();
+
+		IncidentTrends trends = trends(BucketSize.DAY);
+		assertThat(trends.totalCreated()).isEqualTo(3);
+		assertThat(trends.total(Incident.Severity.LOW)).isEqualTo(2);
+		assertThat(trends.total(Incident.Severity.MEDIUM)).isEqualTo(1);
+		assertThat(trends.total(Incident.Status.IN_PROGRESS)).isEqualTo(1);
+		assertThat(trends.meanTimeToResolve()).isNull();
+	}
+
+	@Test
+	void existingIncidentsAreBackfilledOnceAcrossNodes() {
+		User reporter = userRepository.getReferenceById(admin.getId());
+		List<Incident> existing = Stream.of(Incident.Severity.LOW, Incident.Severity.HIGH)
+				.map(severity -> incidentRepository.save(Incident.builder()
+						.title("Reported before the rollups")
+						.description("Only counted by the backfill")
+						.severity(severity)
+						.reportedBy(reporter)
+						.build()))
+				.toList();
+		jdbcTemplate.update("UPDATE rollup_backfill SET completed = FALSE, cutoff_at = NULL");
+
+		// Two nodes starting on the same empty rollups: one backfills, the other waits for it
+		CompletableFuture.allOf(CompletableFuture.runAsync(rollupMaintainer::backfill),
+				CompletableFuture.runAsync(rollupMaintainer::backfill)).join();
+		// A change the backfill already counted is not counted again; later ones are
+		rollupMaintainer.onIncidentChanged(IncidentChangedEvent.created(existing.get(0), "rollup-admin"));
+		incidentService.createIncident(dto(Incident.Severity.HIGH), admin);
+		rollupMaintainer.flush();
+
+		IncidentTrends trends = trends(BucketSize.DAY);
+		assertThat(trends.totalCreated()).isEqualTo(3);
+		assertThat(trends.total(Incident.Severity.LOW)).isEqualTo(1);
+		assertThat(trends.total(Incident.Severity.HIGH)).isEqualTo(2);
+	}
+
+	private IncidentTrends trends(BucketSize bucketSize) {
+		LocalDate today = LocalDate.now();
+		return analyticsService.getTrends(today.minusDays(1), today, bucketSize, 5);
+	}
+
+	private void clearRollups() {
+		incidentRollupRepository.deleteAllInBatch();
+		jdbcTemplate.update("DELETE FROM reporter_rollups");
+	}
+
+	private static IncidentDto dto(Incident.Severity severity) {
+		IncidentDto dto = new IncidentDto();
+		dto.setTitle("Rollup fixture incident");
+		dto.setDescription("Counted by the analytics rollups");
+		dto.setSeverity(severity);
+		return dto;
+	}
+}
@@ -0,0 +1,131 @@
+package com.enterprise.incident.audit;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentEvent;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The audit write-ahead file: events spill to it when the queue is full, replay moves them
+ * into the database in batches, resumes from its checkpoint, and quarantines lines that
+ * can never be stored.
+ */
+@SpringBootTest
+class IncidentAuditWriterTests {
+
+	private static final long INCIDENT_ID = 910_001L;
+
+	@Autowired
+	private IncidentEventRepository incidentEventRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@TempDir
+	private Path directory;
+
+	private Path walFile;
+	private IncidentAuditWriter writer;
+
+	@BeforeEach
+	void setUp() {
+		walFile = directory.resolve("incident-events.wal");
+		// Never started, so nothing drains the one-slot queue and the test drives replay itself
+		writer = new IncidentAuditWriter(incidentEventRepository, transactionTemplate, objectMapper,
+				new SimpleMeterRegistry(), 1, 2, Duration.ofSeconds(1), walFile);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentEventRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void eventsSpillWhenTheQueueIsFullAndAreReplayed() throws Exception {
+		writer.onIncidentChanged(event(Incident.Status.OPEN));
+		writer.onIncidentChanged(event(Incident.Status.IN_PROGRESS));
+		writer.onIncidentChanged(event(Incident.Status.RESOLVED));
+		assertThat(Files.readAllLines(walFile)).hasSize(2);
+
+		writer.replay();
+
+		assertThat(stored()).extracting(IncidentEvent::getToStatus)
+				.containsExactly(Incident.Status.IN_PROGRESS, Incident.Status.RESOLVED);
+		assertThat(walFile).doesNotExist();
+		assertThat(replaying()).doesNotExist();
+	}
+
+	@Test
+	void corruptAndRejectedLinesAreQuarantined() throws Exception {
+		String corrupt = "{\"incidentId\":" + INCIDENT_ID + ",\"eventType\":";
+		String rejected = line(event(Incident.Status.IN_PROGRESS)).replace("\"actor\":\"auditor\"", "\"actor\":null");
+		Files.write(walFile, List.of(
+				line(event(Incident.Status.OPEN)),
+				corrupt,
+				rejected,
+				line(event(Incident.Status.RESOLVED)),
+				line(event(Incident.Status.REJECTED))));
+
+		writer.replay();
+
+		assertThat(stored()).extracting(IncidentEvent::getToStatus)
+				.containsExactly(Incident.Status.OPEN, Incident.Status.RESOLVED, Incident.Status.REJECTED);
+		assertThat(Files.readAllLines(walFile.resolveSibling("incident-events.wal.quarantine")))
+				.containsExactly(corrupt, rejected);
+		assertThat(replaying()).doesNotExist();
+	}
+
+	@Test
+	void replayResumesAfterTheCheckpointedLines() throws Exception {
+		Files.write(replaying(), List.of(
+				line(event(Incident.Status.OPEN)),
+				line(event(Incident.Status.IN_PROGRESS)),
+				line(event(Incident.Status.RESOLVED))));
+		Files.writeString(replaying().resolveSibling("incident-events.wal.replaying.done"), "2");
+
+		writer.replay();
+
+		assertThat(stored()).extracting(IncidentEvent::getToStatus).containsExactly(Incident.Status.RESOLVED);
+		assertThat(replaying().resolveSibling("incident-events.wal.replaying.done")).doesNotExist();
+	}
+
+	private List<IncidentEvent> stored() {
+		return incidentEventRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(INCIDENT_ID);
+	}
+
+	private Path replaying() {
+		return walFile.resolveSibling("incident-events.wal.replaying");
+	}
+
+	private String line(IncidentChangedEvent event) throws Exception {
+		return objectMapper.writeValueAsString(IncidentEvent.from(event));
+	}
+
+	private static IncidentChangedEvent event(Incident.Status status) {
+		LocalDateTime now = LocalDateTime.now();
+		// Distinct timestamps keep the stored order equal to the order of the file
+		return new IncidentChangedEvent(IncidentChangedEvent.Type.UPDATED, INCIDENT_ID, 1L, "reporter",
+				Incident.Severity.MEDIUM, Incident.Status.OPEN, status, "Audited incident", "Audit fixture",
+				"auditor", null, now.minusDays(1), now.plusNanos(status.ordinal() * 1_000L));
+	}
+}
@@ -0,0 +1,128 @@
+package com.enterprise.incident.benchmark;
+
+import com.enterprise.incident.IncidentApplication;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Application context backed by the in-memory H2 test database, seeded with
+ * {@code incidents} incidents spread over {@code reporters} users. Shared by all
+ * benchmark threads of a trial. Calls run as an authenticated admin; the security
+ * context is global so that JMH worker threads see it.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+	private static final int SEED_CHUNK = 1000;
+
+	@Param("10000")
+	public int incidents;
+
+	@Param("100")
+	public int reporters;
+
+	ConfigurableApplicationContext context;
+	UserPrincipal admin;
+	final List<UserPrincipal> reporterPrincipals = new ArrayList<>();
+	final List<Long> incidentIds = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = new SpringApplicationBuilder(IncidentApplication.class)
+				.web(WebApplicationType.NONE)
+				// Command-line arguments, so they win over application.yaml and the test properties
+				.run(
+						"--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+						"--spring.jpa.properties.hibernate.generate_statistics=false",
+						"--logging.level.root=WARN",
+						"--logging.level.org.hibernate.SQL=WARN",
+						"--logging.level.org.springframework.security=WARN",
+						"--logging.level.com.enterprise.incident=WARN",
+						"--incident.statistics.reconcile-interval=PT1H");
+		seed();
+
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		SecurityContextHolder.clearContext();
+		context.close();
+	}
+
+	<T> T bean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	UserPrincipal randomReporter() {
+		return reporterPrincipals.get(ThreadLocalRandom.current().nextInt(reporterPrincipals.size()));
+	}
+
+	Long randomIncidentId() {
+		return incidentIds.get(ThreadLocalRandom.current().nextInt(incidentIds.size()));
+	}
+
+	private void seed() {
+		UserRepository userRepository = bean(UserRepository.class);
+		IncidentRepository incidentRepository = bean(IncidentRepository.class);
+		TransactionTemplate tx = bean(TransactionTemplate.class);
+
+		admin = UserPrincipal.from(userRepository.save(user("bench-admin", User.Role.ROLE_ADMIN)));
+		List<User> users = new ArrayList<>();
+		for (int r = 0; r < reporters; r++) {
+			User user = userRepository.save(user("bench-user" + r, User.Role.ROLE_USER));
+			users.add(user);
+			reporterPrincipals.add(UserPrincipal.from(user));
+		}
+
+		Incident.Severity[] severities = Incident.Severity.values();
+		Incident.Status[] statuses = Incident.Status.values();
+		for (int start = 0; start < incidents; start += SEED_CHUNK) {
+			int from = start;
+			int to = Math.min(start + SEED_CHUNK, incidents);
+			tx.executeWithoutResult(status -> {
+				List<Incident> chunk = new ArrayList<>(to - from);
+				for (int i = from; i < to; i++) {
+					chunk.add(Incident.builder()
+							.title("Benchmark incident " + i)
+							.description("Seeded incident " + i + " for service benchmarks")
+							.severity(severities[i % severities.length])
+							.status(statuses[i % statuses.length])
+							.reportedBy(users.get(i % users.size()))
+							.build());
+				}
+				incidentRepository.saveAll(chunk).forEach(incident -> incidentIds.add(incident.getId()));
+			});
+		}
+	}
+
+	private static User user(String username, User.Role role) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,50 @@
+package com.enterprise.incident.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JMH benchmarks in this package. Run with {@code mvn test -Pbenchmark};
+ * useful overrides:
+ * <ul>
+ *     <li>{@code -Dbenchmark.include=regex} - benchmarks to run (default: all in this package)</li>
+ *     <li>{@code -Dbenchmark.incidents=1000,100000} - seeded incident volumes</li>
+ *     <li>{@code -Dbenchmark.reporters=N} - seeded reporters</li>
+ *     <li>{@code -Dbenchmark.threads=N} - concurrent benchmark threads</li>
+ * </ul>
+ * Results are also written to {@code target/jmh-result.json} for comparison between runs.
+ */
+@Tag("benchmark")
+class JmhBenchmarkTests {
+
+	@Test
+	void serviceBenchmarks() throws Exception {
+		ChainedOptionsBuilder options = new OptionsBuilder()
+				.include(System.getProperty("benchmark.include", getClass().getPackageName() + ".*Benchmarks"))
+				.threads(Integer.getInteger("benchmark.threads", 1))
+				.shouldFailOnError(true)
+				.resultFormat(ResultFormatType.JSON)
+				.result("target/jmh-result.json");
+		param(options, "incidents");
+		param(options, "reporters");
+
+		Collection<RunResult> results = new Runner(options.build()).run();
+		assertThat(results).isNotEmpty();
+	}
+
+	private static void param(ChainedOptionsBuilder options, String name) {
+		String values = System.getProperty("benchmark." + name);
+		if (values != null) {
+			options.param(name, values.split(","));
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.enterprise.incident.benchmark;
+
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.service.IncidentService;
+import com.enterprise.incident.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Average latency of the service calls behind the main pages, including the
+ * repository queries, transactions and method security they go through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+	private IncidentService incidentService;
+	private UserService userService;
+
+	@Setup
+	public void lookUpServices(BenchmarkDatabase db) {
+		incidentService = db.bean(IncidentService.class);
+		userService = db.bean(UserService.class);
+	}
+
+	@Benchmark
+	public Incident createIncident(BenchmarkDatabase db) {
+		return incidentService.createIncident(IncidentDto.builder()
+				.title("Benchmark created incident")
+				.description("Created while measuring createIncident")
+				.severity(Incident.Severity.MEDIUM)
+				.build(), db.randomReporter());
+	}
+
+	@Benchmark
+	public List<IncidentSummary> getIncidentsByUser(BenchmarkDatabase db) {
+		return incidentService.getIncidentsByUser(db.randomReporter());
+	}
+
+	@Benchmark
+	public IncidentService.IncidentStatistics getStatisticsAsUser(BenchmarkDatabase db) {
+		return incidentService.getStatistics(db.randomReporter());
+	}
+
+	@Benchmark
+	public IncidentService.IncidentStatistics getStatisticsAsAdmin(BenchmarkDatabase db) {
+		return incidentService.getStatistics(db.admin);
+	}
+
+	@Benchmark
+	public Incident getIncidentById(BenchmarkDatabase db) {
+		return incidentService.getIncidentById(db.randomIncidentId(), db.admin);
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsername(BenchmarkDatabase db) {
+		return userService.loadUserByUsername("bench-user" + ThreadLocalRandom.current().nextInt(db.reporters));
+	}
+}
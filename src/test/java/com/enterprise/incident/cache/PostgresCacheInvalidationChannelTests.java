@@ -0,0 +1,144 @@
+package com.enterprise.incident.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The LISTEN/NOTIFY channel without a PostgreSQL server: invalidations are batched into
+ * payloads below the NOTIFY size limit, notifications from this node are ignored, and a
+ * re-established listen connection invalidates everything.
+ */
+class PostgresCacheInvalidationChannelTests {
+
+	private static final String INCIDENT = "com.enterprise.incident.entity.Incident";
+	private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final List<Connection> listenConnections = new ArrayList<>();
+	private final PostgresCacheInvalidationChannel channel = new PostgresCacheInvalidationChannel(
+			jdbcTemplate, new DataSourceProperties(), Duration.ofMillis(50), Duration.ofMillis(10)) {
+		@Override
+		Connection openListenConnection() throws SQLException {
+			return listenConnections.isEmpty() ? idleConnection() : listenConnections.remove(0);
+		}
+	};
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		channel.stop();
+	}
+
+	@Test
+	void payloadsCarryEveryInvalidationAndStayBelowTheNotifyLimit() {
+		channel.start();
+		List<String> single = channel.payloads(List.of(new CacheInvalidation(INCIDENT, 1L),
+				new CacheInvalidation("User", null), CacheInvalidation.all()));
+		assertThat(single).singleElement().asString().endsWith(";" + INCIDENT + ":1,User:*,*:*");
+
+		List<CacheInvalidation> many = LongStream.rangeClosed(1, 1000)
+				.mapToObj(id -> new CacheInvalidation(INCIDENT, id))
+				.toList();
+		List<String> split = channel.payloads(many);
+
+		assertThat(split).hasSizeGreaterThan(1);
+		String node = single.get(0).substring(0, single.get(0).indexOf(';') + 1);
+		List<String> entries = new ArrayList<>();
+		for (String payload : split) {
+			assertThat(payload).startsWith(node);
+			assertThat(payload.length()).isLessThanOrEqualTo(7000);
+			entries.addAll(Arrays.asList(payload.substring(node.length()).split(",")));
+		}
+		assertThat(entries).containsExactlyElementsOf(
+				many.stream().map(invalidation -> INCIDENT + ":" + invalidation.id()).toList());
+	}
+
+	@Test
+	void queuedInvalidationsAreSentAsOneNotification() {
+		channel.publish(new CacheInvalidation(INCIDENT, 7L));
+		channel.publish(new CacheInvalidation(INCIDENT, 8L));
+		channel.publish(new CacheInvalidation("User", 3L));
+		channel.start();
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(jdbcTemplate, timeout(2_000)).query(eq(NOTIFY), any(ResultSetExtractor.class),
+				eq("incident_cache_invalidation"), payload.capture());
+		assertThat(payload.getValue()).endsWith(";" + INCIDENT + ":7," + INCIDENT + ":8,User:3");
+	}
+
+	@Test
+	void ownNotificationsAreIgnoredAndReconnectInvalidatesEverything() throws Exception {
+		String own = channel.payloads(List.of(new CacheInvalidation(INCIDENT, 1L))).get(0);
+		listenConnections.add(failingConnection(own, "other-node;" + INCIDENT + ":5,User:x,*:*"));
+		BlockingQueue<CacheInvalidation> received = new LinkedBlockingQueue<>();
+		channel.subscribe(received::add);
+
+		channel.start();
+
+		assertThat(received.poll(2, TimeUnit.SECONDS)).isEqualTo(new CacheInvalidation(INCIDENT, 5L));
+		// The malformed User entry is skipped
+		assertThat(received.poll(2, TimeUnit.SECONDS)).isEqualTo(CacheInvalidation.all());
+		// Delivered once the lost connection has been replaced
+		assertThat(received.poll(2, TimeUnit.SECONDS)).isEqualTo(CacheInvalidation.all());
+		assertThat(received.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	/**
+	 * A listen connection that delivers {@code payloads} once and is then lost
+	 */
+	private static Connection failingConnection(String... payloads) throws SQLException {
+		Connection connection = listenConnection();
+		PGNotification[] notifications = Arrays.stream(payloads).map(payload -> {
+			PGNotification notification = mock(PGNotification.class);
+			when(notification.getParameter()).thenReturn(payload);
+			return notification;
+		}).toArray(PGNotification[]::new);
+		when(((PGConnection) connection).getNotifications(anyInt()))
+				.thenReturn(notifications)
+				.thenThrow(new SQLException("Connection reset"));
+		return connection;
+	}
+
+	private static Connection idleConnection() throws SQLException {
+		Connection connection = listenConnection();
+		when(((PGConnection) connection).getNotifications(anyInt())).thenAnswer(invocation -> {
+			Thread.sleep(10);
+			return null;
+		});
+		return connection;
+	}
+
+	private static Connection listenConnection() throws SQLException {
+		Connection connection = mock(Connection.class, withSettings().extraInterfaces(PGConnection.class));
+		when(connection.createStatement()).thenReturn(mock(Statement.class));
+		when(connection.unwrap(PGConnection.class)).thenReturn((PGConnection) connection);
+		return connection;
+	}
+}
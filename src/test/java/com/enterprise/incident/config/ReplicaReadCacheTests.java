@@ -0,0 +1,120 @@
+package com.enterprise.incident.config;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With replica routing on, read-only transactions may see a lagging replica, so what they
+ * load is never put in the second-level or query caches; read-write transactions still fill them.
+ * The "replica" is the test database itself.
+ */
+@SpringBootTest(properties = {
+		"incident.datasource.replica.nodes[0].url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1",
+		"incident.datasource.replica.lag-query=SELECT 0"
+})
+class ReplicaReadCacheTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private Incident incident;
+
+	@BeforeEach
+	void seed() {
+		User reporter = userRepository.save(User.builder()
+				.username("replica-reporter")
+				.email("replica-reporter@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+		incident = incidentRepository.save(Incident.builder()
+				.title("Replica cache fixture")
+				.description("Loaded through the replica and the primary")
+				.severity(Incident.Severity.LOW)
+				.reportedBy(reporter)
+				.build());
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void readOnlyLoadsDoNotPopulateTheCache() throws Exception {
+		ReplicaRoutingDataSource router = dataSource.unwrap(ReplicaRoutingDataSource.class);
+
+		load(true);
+		assertThat(router.getFallbacks()).isZero();
+		assertThat(entityManagerFactory.getCache().contains(Incident.class, incident.getId())).isFalse();
+
+		load(false);
+		assertThat(entityManagerFactory.getCache().contains(Incident.class, incident.getId())).isTrue();
+
+		// Entries cached by the primary are still read
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		load(true);
+		assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void readOnlyQueriesDoNotPopulateTheQueryCache() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		Long reporterId = incident.getReportedBy().getId();
+
+		assertThat(count(true, reporterId)).isEqualTo(1);
+		assertThat(statistics.getQueryCachePutCount()).isZero();
+
+		assertThat(count(false, reporterId)).isEqualTo(1);
+		assertThat(statistics.getQueryCachePutCount()).isEqualTo(1);
+	}
+
+	private void load(boolean readOnly) {
+		Optional<Incident> loaded = transaction(readOnly).execute(status -> incidentRepository.findById(incident.getId()));
+		assertThat(loaded).isPresent();
+	}
+
+	private Long count(boolean readOnly, Long reporterId) {
+		return transaction(readOnly).execute(status -> incidentRepository.countByReportedById(reporterId));
+	}
+
+	private TransactionTemplate transaction(boolean readOnly) {
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		transaction.setReadOnly(readOnly);
+		return transaction;
+	}
+}
@@ -0,0 +1,140 @@
+package com.enterprise.incident.config;
+
+import com.enterprise.incident.config.ReplicaRoutingDataSource.Balancing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes transactions between separate in-memory H2 databases standing in for a primary
+ * and its replicas; each database knows its own name and a lag value the test controls.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private static final String LAG_QUERY = "SELECT lag_seconds FROM node";
+
+	private final List<Connection> keepAlive = new ArrayList<>();
+
+	@AfterEach
+	void closeDatabases() throws SQLException {
+		for (Connection connection : keepAlive) {
+			connection.close();
+		}
+	}
+
+	@Test
+	void readOnlyTransactionsUseReplicaAndEverythingElseThePrimary() {
+		DataSource primary = database("primary");
+		ReplicaRoutingDataSource router = router(primary, List.of(database("replica")), Balancing.ROUND_ROBIN);
+
+		assertThat(nodeName(router, true)).isEqualTo("replica");
+		assertThat(nodeName(router, false)).isEqualTo("primary");
+		assertThat(new JdbcTemplate(new LazyConnectionDataSourceProxy(router))
+				.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+		assertThat(router.getFallbacks()).isZero();
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimaryUntilItCatchesUp() {
+		DataSource replica = database("replica");
+		ReplicaRoutingDataSource router = router(database("primary"), List.of(replica), Balancing.ROUND_ROBIN);
+
+		new JdbcTemplate(replica).update("UPDATE node SET lag_seconds = 60");
+		router.checkReplicas();
+		assertThat(router.isHealthy(0)).isFalse();
+		assertThat(router.getLagSeconds(0)).isEqualTo(60);
+		assertThat(nodeName(router, true)).isEqualTo("primary");
+		assertThat(router.getFallbacks()).isEqualTo(1);
+
+		new JdbcTemplate(replica).update("UPDATE node SET lag_seconds = 0");
+		router.checkReplicas();
+		assertThat(nodeName(router, true)).isEqualTo("replica");
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		DriverManagerDataSource unreachable = new DriverManagerDataSource(
+				"jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+		ReplicaRoutingDataSource router = router(database("primary"), List.of(unreachable), Balancing.ROUND_ROBIN);
+
+		assertThat(nodeName(router, true)).isEqualTo("primary");
+		assertThat(router.isHealthy(0)).isFalse();
+	}
+
+	@Test
+	void roundRobinAlternatesBetweenReplicas() {
+		ReplicaRoutingDataSource router = router(database("primary"),
+				List.of(database("replica-a"), database("replica-b")), Balancing.ROUND_ROBIN);
+
+		assertThat(List.of(nodeName(router, true), nodeName(router, true), nodeName(router, true)))
+				.containsExactly("replica-a", "replica-b", "replica-a");
+	}
+
+	@Test
+	void leastConnectionsPrefersTheLessBusyReplica() throws SQLException {
+		ReplicaRoutingDataSource router = router(database("primary"),
+				List.of(database("replica-a"), database("replica-b")), Balancing.LEAST_CONNECTIONS);
+
+		TransactionTemplate readOnly = transactions(router, true);
+		Connection held = readOnly.execute(status -> {
+			try {
+				return router.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(router.getActiveConnections(0)).isEqualTo(1);
+		assertThat(nodeName(router, true)).isEqualTo("replica-b");
+
+		held.close();
+		assertThat(router.getActiveConnections(0)).isZero();
+		assertThat(nodeName(router, true)).isEqualTo("replica-a");
+	}
+
+	private ReplicaRoutingDataSource router(DataSource primary, List<DataSource> replicas, Balancing balancing) {
+		return new ReplicaRoutingDataSource(primary, replicas, balancing, Duration.ofSeconds(5), LAG_QUERY);
+	}
+
+	private String nodeName(ReplicaRoutingDataSource router, boolean readOnly) {
+		DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+		TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		transactions.setReadOnly(readOnly);
+		return transactions.execute(status ->
+				new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+	}
+
+	private TransactionTemplate transactions(ReplicaRoutingDataSource router, boolean readOnly) {
+		TransactionTemplate transactions = new TransactionTemplate(
+				new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(router)));
+		transactions.setReadOnly(readOnly);
+		return transactions;
+	}
+
+	private DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID(), "sa", "");
+		try {
+			keepAlive.add(dataSource.getConnection());
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE node (name VARCHAR(20), lag_seconds INT)");
+		jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,161 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.search.InMemoryIncidentSearchIndex;
+import com.enterprise.incident.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk ingestion through {@code POST /api/incidents/bulk}: JSON arrays and NDJSON are
+ * stored, invalid items are skipped and reported, and a malformed NDJSON line ends the
+ * stream while the items before it are kept.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class BulkIngestTests {
+
+	private static final String NDJSON = "application/x-ndjson";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private InMemoryIncidentSearchIndex searchIndex;
+
+	private User reporter;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(User.builder()
+				.username("bulk-reporter")
+				.email("bulk-reporter@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void jsonArrayAndNdjsonAreStoredForTheCaller() throws Exception {
+		ingest(MediaType.APPLICATION_JSON_VALUE, "[" + item("Array incident one") + ","
+				+ item("Array incident two") + "]")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(2))
+				.andExpect(jsonPath("$.rejected").value(0));
+
+		ingest(NDJSON, item("Ndjson incident one") + "\n\n" + item("Ndjson incident two") + "\n")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(2));
+
+		assertThat(incidentRepository.findSummariesByReporterId(reporter.getId()))
+				.extracting(IncidentSummary::getTitle)
+				.containsExactlyInAnyOrder("Array incident one", "Array incident two",
+						"Ndjson incident one", "Ndjson incident two");
+	}
+
+	@Test
+	void invalidItemsAreSkippedAndReportedByPosition() throws Exception {
+		ingest(MediaType.APPLICATION_JSON_VALUE, "[" + item("Valid incident one") + ","
+				+ "{\"title\":\"Bad\",\"description\":\"Too short title\",\"severity\":\"LOW\"},"
+				+ item("Valid incident two") + "]")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(2))
+				.andExpect(jsonPath("$.rejected").value(1))
+				.andExpect(jsonPath("$.errors[0]").value("Item 2: Title must be between 5 and 200 characters"));
+
+		ingest(MediaType.APPLICATION_JSON_VALUE, "{\"title\":\"Not an array\"}")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Expected a JSON array of incidents"));
+		ingest(MediaType.APPLICATION_JSON_VALUE, "nonsense")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Expected a JSON array of incidents"));
+		assertThat(incidentRepository.countByReportedById(reporter.getId())).isEqualTo(2);
+	}
+
+	@Test
+	void malformedNdjsonLineEndsTheStreamAndKeepsEarlierItems() throws Exception {
+		ingest(NDJSON, item("Before the broken line") + "\n{\"title\": oops\n" + item("After the broken line") + "\n")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accepted").value(1))
+				.andExpect(jsonPath("$.rejected").value(1))
+				.andExpect(jsonPath("$.errors[0]", startsWith("Item 2: malformed JSON")));
+
+		ingest(NDJSON, "not json at all\n")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.accepted").value(0));
+		assertThat(incidentRepository.findSummariesByReporterId(reporter.getId()))
+				.extracting(IncidentSummary::getTitle)
+				.containsExactly("Before the broken line");
+	}
+
+	/**
+	 * Listeners after commit (search and similarity indexes, metrics, caches) work from the
+	 * events, so a larger batch runs no more queries than a smaller one
+	 */
+	@Test
+	void committedBatchIsIndexedWithoutAQueryPerIncident() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		ingest(NDJSON, item("Single zeppelin incident") + "\n").andExpect(status().isOk());
+		long single = statistics.getQueryExecutionCount();
+
+		statistics.clear();
+		StringBuilder batch = new StringBuilder();
+		for (int i = 0; i < 25; i++) {
+			batch.append(item("Batch zeppelin incident " + i)).append('\n');
+		}
+		ingest(NDJSON, batch.toString()).andExpect(jsonPath("$.accepted").value(25));
+
+		assertThat(statistics.getQueryExecutionCount()).isEqualTo(single);
+		assertThat(searchIndex.search("zeppelin", 0, 50).ids()).hasSize(26);
+	}
+
+	private ResultActions ingest(String contentType, String body) throws Exception {
+		return mockMvc.perform(post("/api/incidents/bulk")
+				.with(user(UserPrincipal.from(reporter)))
+				.contentType(contentType)
+				.content(body));
+	}
+
+	private static String item(String title) {
+		return "{\"title\":\"" + title + "\",\"description\":\"Created through the bulk ingestion API\","
+				+ "\"severity\":\"MEDIUM\"}";
+	}
+}
@@ -0,0 +1,169 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.similarity.IncidentSimilarityIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs of the incident pages: 304 without a body while nothing the page shows
+ * has changed, a full page once something has, or when the session or a flash message differ.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class ConditionalPageTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private IncidentSimilarityIndex similarityIndex;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final MockHttpSession session = new MockHttpSession();
+	private User reporter;
+	private Incident incident;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(User.builder()
+				.username("etag-reporter")
+				.email("etag-reporter@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+		incident = incidentRepository.save(Incident.builder()
+				.title("Printer jammed on the third floor")
+				.description("The shared printer on the third floor jams on every duplex print job")
+				.severity(Incident.Severity.LOW)
+				.reportedBy(reporter)
+				.build());
+		similarityIndex.rebuild();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		entityManagerFactory.getCache().evictAll();
+		similarityIndex.rebuild();
+	}
+
+	@Test
+	void incidentListIsNotModifiedUntilOneOfTheUsersIncidentsChanges() throws Exception {
+		MvcResult first = mockMvc.perform(page("/incidents/my"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("W/\"");
+
+		mockMvc.perform(page("/incidents/my").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		createIncident("Projector bulb burnt out", "The projector in meeting room B shows no picture at all");
+		mockMvc.perform(page("/incidents/my").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	/**
+	 * A similar incident changes the page without touching its timestamps, so no
+	 * Last-Modified is offered and If-Modified-Since alone never yields a 304
+	 */
+	@Test
+	void incidentPageRevalidatesByEtagUntilASimilarIncidentIsReported() throws Exception {
+		String path = "/incidents/" + incident.getId();
+		MvcResult first = mockMvc.perform(page(path)).andExpect(status().isOk()).andReturn();
+		String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+		String later = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+
+		mockMvc.perform(page(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+		createIncident("Printer jams on the third floor",
+				"The shared printer on the third floor jams on every duplex print job again");
+		mockMvc.perform(page(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Printer jams on the third floor")));
+		mockMvc.perform(page(path).header(HttpHeaders.IF_MODIFIED_SINCE, later))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Printer jams on the third floor")));
+	}
+
+	@Test
+	void copyFromAnotherSessionIsNotRevalidated() throws Exception {
+		String etag = mockMvc.perform(page("/incidents/my")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// A new login gets a new session and CSRF token, which the cached forms lack
+		mockMvc.perform(get("/incidents/my")
+						.session(new MockHttpSession())
+						.with(user(UserPrincipal.from(reporter)))
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void pageWithFlashMessageIsAlwaysRendered() throws Exception {
+		String etag = mockMvc.perform(page("/incidents/my")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(page("/incidents/my")
+						.flashAttr("message", "Incident created successfully")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Incident created successfully")));
+	}
+
+	private MockHttpServletRequestBuilder page(String path) {
+		return get(path).session(session).with(user(UserPrincipal.from(reporter)));
+	}
+
+	private void createIncident(String title, String description) throws Exception {
+		mockMvc.perform(post("/incidents/create")
+						.with(user(UserPrincipal.from(reporter)))
+						.with(csrf())
+						.param("title", title)
+						.param("description", description)
+						.param("severity", "MEDIUM"))
+				.andExpect(status().is3xxRedirection());
+	}
+}
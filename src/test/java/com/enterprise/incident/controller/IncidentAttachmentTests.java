@@ -0,0 +1,262 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.attachment.AttachmentStore;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.IncidentAttachment;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentAttachmentRepository;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentAttachmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Attachment upload into the content-addressed store, ranged and conditional downloads,
+ * access control, storage quotas and the sweep of unreferenced content.
+ */
+@SpringBootTest(properties = {
+		"incident.attachments.sweep-grace-period=PT0S",
+		// Three copies of EVIDENCE per incident, four per user
+		"incident.attachments.quota.per-incident=350KB",
+		"incident.attachments.quota.per-user=450KB"
+})
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IncidentAttachmentTests {
+
+	private static final byte[] EVIDENCE = "2024-01-01T00:00:00Z sshd: Failed password for root\n"
+			.repeat(2000).getBytes(StandardCharsets.UTF_8);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private IncidentAttachmentRepository attachmentRepository;
+
+	@Autowired
+	private IncidentAttachmentService attachmentService;
+
+	@Autowired
+	private AttachmentStore attachmentStore;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private User reporter;
+	private User otherUser;
+	private Incident incident;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(newUser("att-reporter"));
+		otherUser = userRepository.save(newUser("att-other"));
+		incident = incidentRepository.save(Incident.builder()
+				.title("Brute force against bastion")
+				.description("Repeated failed logins, see the attached auth log")
+				.severity(Incident.Severity.HIGH)
+				.reportedBy(reporter)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() throws Exception {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		entityManagerFactory.getCache().evictAll();
+		attachmentService.sweepUnreferencedContent();
+	}
+
+	@Test
+	void identicalUploadsShareOneStoredFile() throws Exception {
+		upload("auth.log").andExpect(redirectedUrl("/incidents/" + incident.getId()));
+		upload("auth-copy.log").andExpect(redirectedUrl("/incidents/" + incident.getId()));
+
+		List<IncidentAttachment> attachments = attachmentRepository.findAll();
+		assertThat(attachments).extracting(IncidentAttachment::getFileName).containsExactly("auth.log", "auth-copy.log");
+		assertThat(attachments.stream().map(IncidentAttachment::getContentHash).distinct()).hasSize(1);
+		Path stored = attachmentStore.path(attachments.get(0).getContentHash());
+		assertThat(Files.readAllBytes(stored)).isEqualTo(EVIDENCE);
+	}
+
+	@Test
+	void downloadServesWholeFileAndByteRanges() throws Exception {
+		upload("auth.log");
+		String url = attachmentUrl();
+
+		mockMvc.perform(get(url).with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, EVIDENCE.length))
+				.andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"auth.log\""))
+				.andExpect(content().bytes(EVIDENCE));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-199").with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/" + EVIDENCE.length))
+				.andExpect(content().bytes(Arrays.copyOfRange(EVIDENCE, 100, 200)));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-10").with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().bytes(Arrays.copyOfRange(EVIDENCE, EVIDENCE.length - 10, EVIDENCE.length)));
+
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=" + EVIDENCE.length + "-")
+						.with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + EVIDENCE.length));
+	}
+
+	@Test
+	void downloadRevalidatesByContentHash() throws Exception {
+		upload("auth.log");
+		String url = attachmentUrl();
+		String etag = mockMvc.perform(get(url).with(user(UserPrincipal.from(reporter))))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isEqualTo("\"" + attachmentRepository.findAll().get(0).getContentHash() + "\"");
+
+		mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag).with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isNotModified());
+		// A stale If-Range validator gets the whole file instead of the range
+		mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\"")
+						.with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(EVIDENCE));
+	}
+
+	@Test
+	void otherUsersCannotUploadOrDownload() throws Exception {
+		upload("auth.log");
+		String url = attachmentUrl();
+
+		mockMvc.perform(get(url).with(user(UserPrincipal.from(otherUser))))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(multipart("/incidents/" + incident.getId() + "/attachments")
+						.file(new MockMultipartFile("files", "other.log", "text/plain", EVIDENCE))
+						.with(csrf())
+						.with(user(UserPrincipal.from(otherUser))))
+				.andExpect(status().isForbidden());
+		assertThat(attachmentRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void viewingIncidentWithAttachmentsIsOneQuery() throws Exception {
+		upload("auth.log");
+		upload("capture.pcap");
+		entityManagerFactory.getCache().evictAll();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/incidents/" + incident.getId()).with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("capture.pcap")));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		// The cached attachment list is replaced when another file is attached
+		upload("notes.txt");
+		statistics.clear();
+		mockMvc.perform(get("/incidents/" + incident.getId()).with(user(UserPrincipal.from(reporter))))
+				.andExpect(content().string(containsString("notes.txt")));
+	}
+
+	@Test
+	void uploadsBeyondTheQuotaAreRefusedBeforeStoring() throws Exception {
+		upload("auth.log");
+		upload("auth-2.log");
+		// A request that would cross the quota stores none of its files
+		mockMvc.perform(multipart("/incidents/" + incident.getId() + "/attachments")
+						.file(new MockMultipartFile("files", "a.log", "text/plain", EVIDENCE))
+						.file(new MockMultipartFile("files", "b.log", "text/plain", EVIDENCE))
+						.with(csrf())
+						.with(user(UserPrincipal.from(reporter))))
+				.andExpect(redirectedUrl("/incidents/" + incident.getId()))
+				.andExpect(flash().attribute("error", containsString("This incident's attachments")));
+		assertThat(attachmentRepository.count()).isEqualTo(2);
+
+		upload("auth-3.log").andExpect(flash().attribute("message", "1 file attached."));
+		upload("auth-4.log").andExpect(flash().attribute("error", containsString("This incident's attachments")));
+
+		Incident second = incidentRepository.save(Incident.builder()
+				.title("Second brute force attempt")
+				.description("Same source, another host")
+				.severity(Incident.Severity.HIGH)
+				.reportedBy(reporter)
+				.build());
+		upload(second, "auth.log").andExpect(flash().attribute("message", "1 file attached."));
+		upload(second, "auth-2.log").andExpect(flash().attribute("error", containsString("your storage quota")));
+		assertThat(attachmentRepository.count()).isEqualTo(4);
+	}
+
+	@Test
+	void sweepRemovesContentOfDeletedIncidents() throws Exception {
+		upload("auth.log");
+		Path stored = attachmentStore.path(attachmentRepository.findAll().get(0).getContentHash());
+
+		assertThat(attachmentService.sweepUnreferencedContent()).isZero();
+		assertThat(stored).exists();
+
+		incidentRepository.deleteAllInBatch();
+		assertThat(attachmentRepository.count()).isZero();
+		assertThat(attachmentService.sweepUnreferencedContent()).isEqualTo(1);
+		assertThat(stored).doesNotExist();
+	}
+
+	private ResultActions upload(String fileName) throws Exception {
+		return upload(incident, fileName);
+	}
+
+	private ResultActions upload(Incident target, String fileName) throws Exception {
+		return mockMvc.perform(multipart("/incidents/" + target.getId() + "/attachments")
+				.file(new MockMultipartFile("files", fileName, "text/plain", EVIDENCE))
+				.with(csrf())
+				.with(user(UserPrincipal.from(reporter))));
+	}
+
+	private String attachmentUrl() {
+		return "/incidents/" + incident.getId() + "/attachments/" + attachmentRepository.findAll().get(0).getId();
+	}
+
+	private static User newUser(String username) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build();
+	}
+}
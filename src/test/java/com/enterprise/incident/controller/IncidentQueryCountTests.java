@@ -0,0 +1,183 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the fetch plans of the incident pages: each request must issue a fixed
+ * number of SQL statements no matter how many incidents or reporters are involved.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IncidentQueryCountTests {
+
+	private static final int REPORTERS = 3;
+	private static final int INCIDENTS_PER_REPORTER = 10;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private User admin;
+	private final List<User> reporters = new ArrayList<>();
+	private final List<Incident> incidents = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		admin = userRepository.save(newUser("qc-admin", User.Role.ROLE_ADMIN));
+		for (int r = 0; r < REPORTERS; r++) {
+			User reporter = userRepository.save(newUser("qc-user" + r, User.Role.ROLE_USER));
+			reporters.add(reporter);
+			for (int i = 0; i < INCIDENTS_PER_REPORTER; i++) {
+				incidents.add(incidentRepository.save(Incident.builder()
+						.title("Incident " + r + "-" + i)
+						.description("Query count fixture incident")
+						.severity(Incident.Severity.values()[i % Incident.Severity.values().length])
+						.reportedBy(reporter)
+						.build()));
+			}
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void adminIncidentListIsOneQuery() throws Exception {
+		assertThat(statementsFor(get("/admin/incidents").with(user(UserPrincipal.from(admin))))).isEqualTo(1);
+	}
+
+	@Test
+	void adminIncidentListNextPageIsOneQuery() throws Exception {
+		Incident cursor = incidents.get(incidents.size() / 2);
+		assertThat(statementsFor(get("/admin/incidents")
+				.param("after", cursor.getCreatedAt().toString())
+				.param("afterId", cursor.getId().toString())
+				.param("size", "5")
+				.with(user(UserPrincipal.from(admin))))).isEqualTo(1);
+	}
+
+	@Test
+	void adminIncidentListFilterIsOneQuery() throws Exception {
+		LocalDate today = LocalDate.now();
+		MvcResult result = mockMvc.perform(get("/admin/incidents")
+						.param("severity", "HIGH", "CRITICAL")
+						.param("status", "OPEN")
+						.param("from", today.minusDays(1).toString())
+						.param("to", today.toString())
+						.param("sort", "OLDEST")
+						.with(user(UserPrincipal.from(admin))))
+				.andReturn();
+		List<?> filtered = (List<?>) result.getModelAndView().getModel().get("incidents");
+		long expected = incidents.stream()
+				.filter(incident -> incident.getSeverity() == Incident.Severity.HIGH
+						|| incident.getSeverity() == Incident.Severity.CRITICAL)
+				.count();
+		assertThat(filtered).hasSize((int) expected);
+
+		assertThat(statementsFor(get("/admin/incidents")
+				.param("severity", "HIGH", "CRITICAL")
+				.param("status", "OPEN")
+				.param("from", today.minusDays(1).toString())
+				.param("sort", "OLDEST")
+				.with(user(UserPrincipal.from(admin))))).isEqualTo(1);
+	}
+
+	@Test
+	void myIncidentsIsOneQuery() throws Exception {
+		assertThat(statementsFor(get("/incidents/my").with(user(UserPrincipal.from(reporters.get(0)))))).isEqualTo(1);
+	}
+
+	@Test
+	void viewIncidentFetchesReporterInSameQuery() throws Exception {
+		Incident incident = incidents.get(0);
+		assertThat(statementsFor(get("/incidents/" + incident.getId())
+				.with(user(UserPrincipal.from(incident.getReportedBy()))))).isEqualTo(1);
+	}
+
+	@Test
+	void adminEditFormFetchesReporterInSameQuery() throws Exception {
+		assertThat(statementsFor(get("/admin/incidents/edit/" + incidents.get(0).getId())
+				.with(user(UserPrincipal.from(admin))))).isEqualTo(1);
+	}
+
+	@Test
+	void viewCachedIncidentIssuesNoQueries() throws Exception {
+		Incident incident = incidents.get(0);
+		RequestBuilder request = get("/incidents/" + incident.getId())
+				.with(user(UserPrincipal.from(incident.getReportedBy())));
+		assertThat(statementsFor(request)).isEqualTo(1);
+		assertThat(cachedStatementsFor(request)).isZero();
+	}
+
+	@Test
+	void userDashboardCountIsCached() throws Exception {
+		RequestBuilder request = get("/dashboard").with(user(UserPrincipal.from(reporters.get(0))));
+		assertThat(statementsFor(request)).isEqualTo(1);
+		assertThat(cachedStatementsFor(request)).isZero();
+	}
+
+	/**
+	 * Statements issued with an empty second-level cache, i.e. the fetch plan itself
+	 */
+	private long statementsFor(RequestBuilder request) throws Exception {
+		entityManagerFactory.getCache().evictAll();
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+		return cachedStatementsFor(request);
+	}
+
+	private long cachedStatementsFor(RequestBuilder request) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(model().attributeDoesNotExist("error"));
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static User newUser(String username, User.Role role) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,148 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.search.InMemoryIncidentSearchIndex;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Full-text search on the in-memory index: every term must match, title matches rank
+ * above body matches, the index follows incident changes, and only admins may search.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IncidentSearchTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private InMemoryIncidentSearchIndex searchIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private User admin;
+	private User reporter;
+	private Incident titleMatch;
+	private Incident mixedMatch;
+	private Incident bodyMatch;
+
+	@BeforeEach
+	void seed() {
+		admin = userRepository.save(newUser("search-admin", User.Role.ROLE_ADMIN));
+		reporter = userRepository.save(newUser("search-user", User.Role.ROLE_USER));
+		titleMatch = save("Firewall gateway outage", "Remote staff cannot connect since this morning");
+		mixedMatch = save("Firewall slow", "Firewall rules reload slowly on the gateway");
+		bodyMatch = save("Printer offline", "The printer next to the firewall gateway rack is offline");
+		save("Email delivery delayed", "Outgoing mail sits in the queue for an hour");
+		searchIndex.rebuild();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		searchIndex.rebuild();
+	}
+
+	@Test
+	void everyTermMustMatchAndTitleMatchesRankFirst() throws Exception {
+		assertThat(search("firewall gateway"))
+				.containsExactly(titleMatch.getId(), mixedMatch.getId(), bodyMatch.getId());
+		assertThat(search("FIREWALL printer")).containsExactly(bodyMatch.getId());
+		assertThat(search("firewall unicorn")).isEmpty();
+		assertThat(search("the of")).isEmpty();
+	}
+
+	@Test
+	void indexFollowsUpdatesAndDeletes() throws Exception {
+		runAs(admin);
+		incidentService.updateIncident(titleMatch.getId(), Incident.Status.IN_PROGRESS,
+				"Replaced the faulty transceiver", UserPrincipal.from(admin));
+		assertThat(search("transceiver")).containsExactly(titleMatch.getId());
+
+		runAs(admin);
+		incidentService.deleteIncident(bodyMatch.getId(), UserPrincipal.from(admin));
+		assertThat(search("printer")).isEmpty();
+	}
+
+	@Test
+	void onlyAdminsMaySearch() throws Exception {
+		mockMvc.perform(get("/admin/incidents/search").param("q", "firewall")
+						.with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isForbidden());
+
+		runAs(reporter);
+		assertThatThrownBy(() -> incidentService.searchIncidents("firewall", 0, 10))
+				.isInstanceOf(AccessDeniedException.class);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Long> search(String query) throws Exception {
+		Page<IncidentSummary> results = (Page<IncidentSummary>) mockMvc.perform(get("/admin/incidents/search")
+						.param("q", query)
+						.with(user(UserPrincipal.from(admin))))
+				.andExpect(status().isOk())
+				.andReturn().getModelAndView().getModel().get("results");
+		return results.getContent().stream().map(IncidentSummary::getId).toList();
+	}
+
+	private Incident save(String title, String description) {
+		return incidentRepository.save(Incident.builder()
+				.title(title)
+				.description(description)
+				.severity(Incident.Severity.MEDIUM)
+				.reportedBy(reporter)
+				.build());
+	}
+
+	/**
+	 * MockMvc requests reset the security context, so set it right before each service call
+	 */
+	private static void runAs(User user) {
+		UserPrincipal principal = UserPrincipal.from(user);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private static User newUser(String username, User.Role role) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,216 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.similarity.IncidentSimilarityIndex;
+import com.enterprise.incident.similarity.SimilarIncident;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+/**
+ * Near-duplicate detection: flagged when an incident is created, listed on its page
+ * within what the viewer may see, and kept in step with later changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IncidentSimilarityTests {
+
+	private static final String OUTAGE_TITLE = "Email server down";
+	private static final String OUTAGE_DESCRIPTION =
+			"Outlook cannot connect to the mail server since 9am, sending and receiving email fails with a timeout";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private IncidentSimilarityIndex similarityIndex;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private User reporter;
+	private User otherUser;
+	private User admin;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(newUser("sim-reporter", User.Role.ROLE_USER));
+		otherUser = userRepository.save(newUser("sim-other", User.Role.ROLE_USER));
+		admin = userRepository.save(newUser("sim-admin", User.Role.ROLE_ADMIN));
+		similarityIndex.rebuild();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		entityManagerFactory.getCache().evictAll();
+		similarityIndex.rebuild();
+	}
+
+	@Test
+	void nearDuplicateIsFlaggedOnCreateAndListedOnItsPage() throws Exception {
+		create(reporter, OUTAGE_TITLE, OUTAGE_DESCRIPTION).andExpect(redirectedUrl("/incidents/my"));
+		Long original = newestIncidentId();
+
+		MvcResult duplicate = create(reporter, "Email server is down",
+				"Since 9am Outlook cannot connect to the mail server, sending and receiving email fails with a timeout")
+				.andExpect(flash().attribute("message", containsString("looks similar to 1 incident")))
+				.andReturn();
+		Long duplicateId = newestIncidentId();
+		assertThat(duplicate.getResponse().getRedirectedUrl()).isEqualTo("/incidents/" + duplicateId);
+
+		mockMvc.perform(get("/incidents/" + duplicateId).with(user(UserPrincipal.from(reporter))))
+				.andExpect(content().string(containsString("Similar Incidents")))
+				.andExpect(content().string(containsString("#" + original + " " + OUTAGE_TITLE)));
+	}
+
+	@Test
+	void unrelatedIncidentIsNotFlagged() throws Exception {
+		create(reporter, OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+		create(reporter, "Badge reader broken", "The badge reader at the north entrance rejects every card")
+				.andExpect(redirectedUrl("/incidents/my"));
+
+		mockMvc.perform(get("/incidents/" + newestIncidentId()).with(user(UserPrincipal.from(reporter))))
+				.andExpect(content().string(not(containsString("Similar Incidents"))));
+	}
+
+	@Test
+	void usersOnlySeeTheirOwnSimilarIncidents() throws Exception {
+		create(reporter, OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+		Long original = newestIncidentId();
+		create(otherUser, OUTAGE_TITLE, OUTAGE_DESCRIPTION + " again")
+				.andExpect(flash().attribute("message", containsString("looks similar to 1 incident")));
+		Long duplicateId = newestIncidentId();
+
+		mockMvc.perform(get("/incidents/" + duplicateId).with(user(UserPrincipal.from(otherUser))))
+				.andExpect(content().string(containsString("reported by another user is already being tracked")))
+				.andExpect(content().string(not(containsString("#" + original + " "))));
+		mockMvc.perform(get("/incidents/" + duplicateId).with(user(UserPrincipal.from(admin))))
+				.andExpect(content().string(containsString("#" + original + " " + OUTAGE_TITLE)));
+	}
+
+	@Test
+	void indexFollowsStatusChangesAndDeletes() throws Exception {
+		create(reporter, OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+		Long original = newestIncidentId();
+		create(reporter, OUTAGE_TITLE, OUTAGE_DESCRIPTION);
+		Long duplicateId = newestIncidentId();
+
+		mockMvc.perform(post("/admin/incidents/update/" + original)
+				.param("status", "RESOLVED")
+				.with(csrf())
+				.with(user(UserPrincipal.from(admin))));
+		List<SimilarIncident> similar = similarityIndex.findSimilar(duplicateId);
+		assertThat(similar).extracting(SimilarIncident::id).containsExactly(original);
+		assertThat(similar.get(0).status()).isEqualTo(Incident.Status.RESOLVED);
+		assertThat(similar.get(0).similarity()).isEqualTo(1.0);
+
+		mockMvc.perform(post("/admin/incidents/delete/" + original)
+				.with(csrf())
+				.with(user(UserPrincipal.from(admin))));
+		assertThat(similarityIndex.findSimilar(duplicateId)).isEmpty();
+	}
+
+	@Test
+	void indexKeepsTheNewestIncidentsOfTheWindow() {
+		IncidentSimilarityIndex bounded = new IncidentSimilarityIndex(incidentRepository, 0.5, 10, Duration.ofDays(30), 3);
+		LocalDateTime now = LocalDateTime.now();
+		bounded.onIncidentChanged(created(1L, now.minusDays(31)));
+		assertThat(bounded.size()).isZero();
+
+		for (long id = 2; id <= 6; id++) {
+			bounded.onIncidentChanged(created(id, now.minusMinutes(10 - id)));
+		}
+		assertThat(bounded.size()).isEqualTo(3);
+		assertThat(bounded.findSimilar(2L)).isEmpty();
+		assertThat(bounded.findSimilar(6L)).extracting(SimilarIncident::id).containsExactly(4L, 5L);
+
+		bounded.onIncidentChanged(new IncidentChangedEvent(IncidentChangedEvent.Type.DELETED, 5L, 1L, null,
+				Incident.Severity.HIGH, Incident.Status.OPEN, null, OUTAGE_TITLE, OUTAGE_DESCRIPTION,
+				"sim-admin", null, now, now));
+		assertThat(bounded.findSimilar(6L)).extracting(SimilarIncident::id).containsExactly(4L);
+	}
+
+	/**
+	 * Identical reports all share every bucket; filing them must not copy the bucket each time
+	 */
+	@Test
+	void identicalReportsAreFiledInLinearTime() {
+		IncidentSimilarityIndex index = new IncidentSimilarityIndex(incidentRepository, 0.5, 5, Duration.ofDays(30), 20_000);
+		LocalDateTime now = LocalDateTime.now();
+		long started = System.nanoTime();
+		for (long id = 1; id <= 30_000; id++) {
+			index.onIncidentChanged(created(id, now));
+		}
+
+		assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+		assertThat(index.size()).isEqualTo(20_000);
+		assertThat(index.findSimilar(30_000L)).hasSize(5);
+	}
+
+	private static IncidentChangedEvent created(long id, LocalDateTime createdAt) {
+		return new IncidentChangedEvent(IncidentChangedEvent.Type.CREATED, id, 1L, "sim-reporter",
+				Incident.Severity.HIGH, null, Incident.Status.OPEN, OUTAGE_TITLE, OUTAGE_DESCRIPTION,
+				"sim-reporter", null, createdAt, createdAt);
+	}
+
+	private ResultActions create(User author, String title, String description) throws Exception {
+		return mockMvc.perform(post("/incidents/create")
+				.param("title", title)
+				.param("description", description)
+				.param("severity", "HIGH")
+				.with(csrf())
+				.with(user(UserPrincipal.from(author))));
+	}
+
+	private Long newestIncidentId() {
+		return incidentRepository.findAll().stream()
+				.map(Incident::getId)
+				.max(Long::compare)
+				.orElseThrow();
+	}
+
+	private static User newUser(String username, User.Role role) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,150 @@
+package com.enterprise.incident.controller;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Page weight and Thymeleaf render time of the main pages, with the template cache off
+ * (the development default) and on (the prod profile). Resolved asset URLs are cached as
+ * in production. Bytes are reported separately for the HTML and for the stylesheets it
+ * links, which browsers download once and cache.
+ * Run with {@code mvn test -Pbenchmark}; the number of renders per page can be changed
+ * with {@code -Dbenchmark.renders=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.web.resources.chain.cache=true")
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class PageRenderBenchmarkTests {
+
+	private static final Pattern STYLESHEET = Pattern.compile("<link rel=\"stylesheet\" href=\"([^\"]+)\"");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private SpringResourceTemplateResolver templateResolver;
+
+	@Autowired
+	private SpringTemplateEngine templateEngine;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private User admin;
+
+	@BeforeEach
+	void seed() {
+		admin = userRepository.save(User.builder()
+				.username("bench-render")
+				.email("bench-render@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_ADMIN)
+				.build());
+		for (int i = 0; i < 20; i++) {
+			incidentRepository.save(Incident.builder()
+					.title("Render benchmark incident " + i)
+					.description("Incident rendered by the page benchmark")
+					.severity(Incident.Severity.values()[i % Incident.Severity.values().length])
+					.reportedBy(admin)
+					.build());
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		templateResolver.setCacheable(false);
+		templateEngine.clearTemplateCache();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void pageWeightAndRenderTime() throws Exception {
+		int renders = Integer.getInteger("benchmark.renders", 500);
+		UserPrincipal principal = UserPrincipal.from(admin);
+		Map<String, MockHttpServletRequestBuilder> pages = new LinkedHashMap<>();
+		pages.put("login", get("/login"));
+		pages.put("dashboard", get("/dashboard").with(user(principal)));
+		pages.put("incidents/my-incidents", get("/incidents/my").with(user(principal)));
+		pages.put("incidents/create", get("/incidents/create").with(user(principal)));
+		pages.put("admin/incidents", get("/admin/incidents").with(user(principal)));
+		pages.put("admin/analytics", get("/admin/analytics").with(user(principal)));
+
+		System.out.printf("%n%-24s %10s %10s %16s %16s%n",
+				"page", "html bytes", "css bytes", "render ms (off)", "render ms (on)");
+		for (Map.Entry<String, MockHttpServletRequestBuilder> page : pages.entrySet()) {
+			MockHttpServletResponse response = mockMvc.perform(page.getValue()).andReturn().getResponse();
+			assertThat(response.getStatus()).isEqualTo(200);
+			String html = response.getContentAsString();
+
+			templateResolver.setCacheable(false);
+			templateEngine.clearTemplateCache();
+			double uncached = meanRenderMillis(page.getKey(), page.getValue(), renders);
+			templateResolver.setCacheable(true);
+			double cached = meanRenderMillis(page.getKey(), page.getValue(), renders);
+
+			System.out.printf("%-24s %10d %10d %16.3f %16.3f%n", page.getKey(),
+					html.getBytes(response.getCharacterEncoding()).length, stylesheetBytes(html), uncached, cached);
+			assertThat(cached).isPositive();
+		}
+	}
+
+	/**
+	 * Mean of {@code incident.view.render} over the given renders, after a warm-up
+	 */
+	private double meanRenderMillis(String view, MockHttpServletRequestBuilder request, int renders) throws Exception {
+		for (int i = 0; i < renders / 10; i++) {
+			mockMvc.perform(request);
+		}
+		Timer timer = meterRegistry.timer("incident.view.render", "view", view, "exception", "none");
+		long count = timer.count();
+		double total = timer.totalTime(TimeUnit.MILLISECONDS);
+		for (int i = 0; i < renders; i++) {
+			mockMvc.perform(request);
+		}
+		return (timer.totalTime(TimeUnit.MILLISECONDS) - total) / (timer.count() - count);
+	}
+
+	private int stylesheetBytes(String html) throws Exception {
+		int bytes = 0;
+		Matcher link = STYLESHEET.matcher(html);
+		while (link.find()) {
+			bytes += mockMvc.perform(get(link.group(1))).andReturn().getResponse().getContentAsByteArray().length;
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,227 @@
+package com.enterprise.incident.feed;
+
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.enterprise.incident.service.IncidentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * The admin live feed: every open connection receives each committed change, a client
+ * that missed events is told to resync, and the heartbeat drops connections that are gone.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class IncidentFeedBusTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IncidentFeedBus feedBus;
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<MvcResult> connections = new ArrayList<>();
+	private User admin;
+
+	@BeforeEach
+	void seed() {
+		admin = userRepository.save(User.builder()
+				.username("feed-admin")
+				.email("feed-admin@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_ADMIN)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		// Completing the async request runs the emitter's completion callback, which unsubscribes it
+		connections.forEach(connection -> connection.getRequest().getAsyncContext().complete());
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void committedChangesFanOutToEverySubscriber() throws Exception {
+		double before = subscribers();
+		MvcResult first = connect(null);
+		MvcResult second = connect(null);
+		assertThat(subscribers()).isEqualTo(before + 2);
+
+		runAs(admin);
+		Incident incident = incidentService.createIncident(dto(), UserPrincipal.from(admin));
+		runAs(admin);
+		incidentService.deleteIncident(incident.getId(), UserPrincipal.from(admin));
+
+		for (MvcResult connection : List.of(first, second)) {
+			String stream = awaitContent(connection, "event:deleted");
+			assertThat(stream).contains("event:created", "\"title\":\"Live feed fixture incident\"",
+					"\"id\":" + incident.getId());
+			assertThat(stream.indexOf("event:created")).isLessThan(stream.indexOf("event:deleted"));
+		}
+	}
+
+	@Test
+	void bulkCreatedIncidentsAreForwardedWithoutAQueryEach() throws Exception {
+		MvcResult connection = connect(null);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		runAs(admin);
+		List<Incident> created = incidentService.createIncidents(Collections.nCopies(25, dto()), UserPrincipal.from(admin));
+
+		assertThat(statistics.getQueryExecutionCount()).isZero();
+		String stream = awaitContent(connection, "\"id\":" + created.get(24).getId());
+		assertThat(stream).contains("\"reporterUsername\":\"feed-admin\"", "\"statusLabel\":\"Open\"");
+	}
+
+	@Test
+	void clientThatMissedEventsIsToldToResync() throws Exception {
+		MvcResult connection = connect(Long.MAX_VALUE);
+
+		assertThat(awaitContent(connection, "event:resync")).contains("data:resync");
+	}
+
+	@Test
+	void heartbeatDropsSubscribersThatAreGone() {
+		double before = subscribers();
+		// Never bound to a response, so once completed every send fails
+		SseEmitter gone = feedBus.subscribe("gone-admin", null);
+		gone.complete();
+		assertThat(subscribers()).isEqualTo(before + 1);
+
+		feedBus.heartbeat();
+
+		assertThat(subscribers()).isEqualTo(before);
+	}
+
+	/**
+	 * A write stuck in the socket holds the emitter's lock; the heartbeat must neither wait
+	 * for it nor call into the emitter, or every other subscriber would miss heartbeats
+	 */
+	@Test
+	void heartbeatDropsStuckSubscriberWithinTheSendTimeout() {
+		Duration sendTimeout = Duration.ofMillis(300);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		IncidentFeedBus bus = new IncidentFeedBus(16, 10, Duration.ofMinutes(1), Duration.ofMinutes(1),
+				sendTimeout, registry);
+		CountDownLatch release = new CountDownLatch(1);
+		SseEmitter stuck = new SseEmitter() {
+			@Override
+			public synchronized void send(SseEventBuilder builder) {
+				// Like a blocked socket write: holds the lock and ignores interrupts
+				while (release.getCount() > 0) {
+					try {
+						release.await();
+					} catch (InterruptedException ignored) {
+						// Keep blocking
+					}
+				}
+			}
+		};
+		try {
+			bus.subscribe("stuck-admin", null, stuck);
+			bus.subscribe("healthy-admin", null, new SseEmitter());
+			assertThat(registry.get("incident.feed.subscribers").gauge().value()).isEqualTo(2);
+
+			long started = System.nanoTime();
+			bus.heartbeat();
+
+			assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(sendTimeout.multipliedBy(3));
+			assertThat(registry.get("incident.feed.subscribers").gauge().value()).isEqualTo(1);
+		} finally {
+			release.countDown();
+			bus.shutdown();
+		}
+	}
+
+	private MvcResult connect(Long lastEventId) throws Exception {
+		var subscription = get("/admin/incidents/stream").with(user(UserPrincipal.from(admin)));
+		if (lastEventId != null) {
+			subscription.header("Last-Event-ID", lastEventId);
+		}
+		MvcResult connection = mockMvc.perform(subscription)
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		connections.add(connection);
+		return connection;
+	}
+
+	/**
+	 * Each subscriber is drained by its own thread, so wait for the expected event to arrive
+	 */
+	private static String awaitContent(MvcResult connection, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + 5_000;
+		String content = connection.getResponse().getContentAsString();
+		while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			content = connection.getResponse().getContentAsString();
+		}
+		assertThat(content).contains(expected);
+		return content;
+	}
+
+	private double subscribers() {
+		return meterRegistry.get("incident.feed.subscribers").gauge().value();
+	}
+
+	private static void runAs(User user) {
+		UserPrincipal principal = UserPrincipal.from(user);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private static IncidentDto dto() {
+		IncidentDto dto = new IncidentDto();
+		dto.setTitle("Live feed fixture incident");
+		dto.setDescription("Pushed to every open admin console");
+		dto.setSeverity(Incident.Severity.HIGH);
+		return dto;
+	}
+}
@@ -0,0 +1,204 @@
+package com.enterprise.incident.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Latency of a logging request ({@code GET /incidents/my}: controller and service INFO
+ * lines) with the root logger writing to a file synchronously, as the previous
+ * configuration did (also with Hibernate SQL at DEBUG), and through the asynchronous
+ * pipeline in plain text, JSON and JSON with sampling.
+ * Run with {@code mvn test -Pbenchmark}; {@code -Dbenchmark.requests=N} and
+ * {@code -Dbenchmark.threads=N} change the load.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class LoggingBenchmarkTests {
+
+	private static final String HOT_PATH_SAMPLING =
+			"com.enterprise.incident.controller.UserController=10,com.enterprise.incident.service.IncidentService=10";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+	private final Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+	private final List<Appender<ILoggingEvent>> configuredAppenders = new ArrayList<>();
+	private User reporter;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(User.builder()
+				.username("bench-logging")
+				.email("bench-logging@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+		for (int i = 0; i < 20; i++) {
+			incidentRepository.save(Incident.builder()
+					.title("Logging benchmark incident " + i)
+					.description("Incident listed by the logging benchmark")
+					.severity(Incident.Severity.values()[i % Incident.Severity.values().length])
+					.reportedBy(reporter)
+					.build());
+		}
+		// Set aside, not stopped: an async appender's worker thread cannot be restarted
+		for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+			configuredAppenders.add(it.next());
+		}
+		configuredAppenders.forEach(root::detachAppender);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		root.detachAndStopAllAppenders();
+		configuredAppenders.forEach(root::addAppender);
+		context.getTurboFilterList().removeIf(filter -> filter instanceof SamplingTurboFilter);
+		context.getLogger("org.hibernate.SQL").setLevel(null);
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void requestLatencyWithSynchronousAndAsynchronousLogging() throws Exception {
+		int requests = Integer.getInteger("benchmark.requests", 2000);
+		int threads = Integer.getInteger("benchmark.threads", 4);
+		UserPrincipal principal = UserPrincipal.from(reporter);
+		Supplier<MockHttpServletRequestBuilder> request = () -> get("/incidents/my").with(user(principal));
+
+		System.out.printf("%n%-40s %12s %12s%n", "logging", "mean us", "p99 us");
+		context.getLogger("org.hibernate.SQL").setLevel(Level.DEBUG);
+		report("sync file, SQL at DEBUG (previous)", file("sync-sql", textEncoder()), request, requests, threads);
+		context.getLogger("org.hibernate.SQL").setLevel(null);
+		report("sync file", file("sync", textEncoder()), request, requests, threads);
+		report("async file", async(file("async", textEncoder())), request, requests, threads);
+		report("async JSON file", async(file("async-json", jsonEncoder())), request, requests, threads);
+
+		SamplingTurboFilter sampling = new SamplingTurboFilter();
+		sampling.setContext(context);
+		sampling.setSampling(HOT_PATH_SAMPLING);
+		sampling.start();
+		context.addTurboFilter(sampling);
+		report("async JSON file, hot paths sampled 1/10", async(file("async-json-sampled", jsonEncoder())),
+				request, requests, threads);
+	}
+
+	private void report(String name, Appender<ILoggingEvent> appender, Supplier<MockHttpServletRequestBuilder> request,
+						int requests, int threads) throws Exception {
+		root.detachAndStopAllAppenders();
+		root.addAppender(appender);
+		// Warm up
+		latencies(request, requests / 10, threads);
+		long[] nanos = latencies(request, requests, threads);
+		Arrays.sort(nanos);
+		double mean = Arrays.stream(nanos).average().orElse(0) / 1000;
+		double p99 = nanos[(int) Math.ceil(nanos.length * 0.99) - 1] / 1000.0;
+		System.out.printf("%-40s %12.1f %12.1f%n", name, mean, p99);
+		assertThat(mean).isPositive();
+	}
+
+	private long[] latencies(Supplier<MockHttpServletRequestBuilder> request, int requests, int threads) throws Exception {
+		long[] nanos = new long[requests];
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int first = t;
+				futures.add(executor.submit(() -> {
+					for (int i = first; i < requests; i += threads) {
+						long start = System.nanoTime();
+						mockMvc.perform(request.get());
+						nanos[i] = System.nanoTime() - start;
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return nanos;
+	}
+
+	private FileAppender<ILoggingEvent> file(String name, Encoder<ILoggingEvent> encoder) {
+		FileAppender<ILoggingEvent> appender = new FileAppender<>();
+		appender.setContext(context);
+		appender.setName(name);
+		appender.setFile("target/logging-benchmark/" + name + ".log");
+		appender.setAppend(false);
+		appender.setEncoder(encoder);
+		appender.start();
+		return appender;
+	}
+
+	private AsyncAppender async(Appender<ILoggingEvent> delegate) {
+		AsyncAppender appender = new AsyncAppender();
+		appender.setContext(context);
+		appender.setName("async-" + delegate.getName());
+		appender.setQueueSize(8192);
+		appender.setNeverBlock(true);
+		appender.addAppender(delegate);
+		appender.start();
+		return appender;
+	}
+
+	private Encoder<ILoggingEvent> textEncoder() {
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p --- [%t] %-40.40logger{39} : %m%n");
+		encoder.start();
+		return encoder;
+	}
+
+	private Encoder<ILoggingEvent> jsonEncoder() {
+		JsonLogEncoder encoder = new JsonLogEncoder();
+		encoder.setContext(context);
+		encoder.start();
+		return encoder;
+	}
+}
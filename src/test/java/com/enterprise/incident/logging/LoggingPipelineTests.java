@@ -0,0 +1,76 @@
+package com.enterprise.incident.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON lines from the encoder and per-logger sampling, on a logger context of their own.
+ */
+class LoggingPipelineTests {
+
+	private final LoggerContext context = new LoggerContext();
+
+	@Test
+	void encoderWritesOneParseableJsonObjectPerLine() throws Exception {
+		Logger logger = context.getLogger("com.example.Checkout");
+		LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN,
+				"Order {} failed: \"{}\"\n\tretrying", new IllegalStateException("gateway down"),
+				new Object[]{42, "card\u0007declined"});
+		event.setMDCPropertyMap(Map.of("requestId", "r-1"));
+		JsonLogEncoder encoder = new JsonLogEncoder();
+		encoder.setContext(context);
+		encoder.start();
+
+		String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+		assertThat(line).endsWith("}\n").doesNotContain("\n\t");
+		JsonNode json = new ObjectMapper().readTree(line);
+		assertThat(json.get("level").asText()).isEqualTo("WARN");
+		assertThat(json.get("logger").asText()).isEqualTo("com.example.Checkout");
+		assertThat(json.get("message").asText()).isEqualTo("Order 42 failed: \"card\u0007declined\"\n\tretrying");
+		assertThat(json.get("mdc").get("requestId").asText()).isEqualTo("r-1");
+		assertThat(json.get("exception").asText()).contains("IllegalStateException: gateway down");
+		assertThat(json.get("timestamp").asText()).endsWith("Z");
+	}
+
+	@Test
+	void samplingKeepsOneInNBelowWarnForConfiguredLoggersOnly() {
+		SamplingTurboFilter sampling = new SamplingTurboFilter();
+		sampling.setContext(context);
+		sampling.setSampling("com.example.hot=10, malformed");
+		sampling.start();
+		context.addTurboFilter(sampling);
+		ListAppender<ILoggingEvent> events = new ListAppender<>();
+		events.setContext(context);
+		events.start();
+		Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		root.setLevel(Level.INFO);
+		root.addAppender(events);
+
+		Logger hot = context.getLogger("com.example.hot.Service");
+		Logger cold = context.getLogger("com.example.cold.Service");
+		for (int i = 0; i < 100; i++) {
+			hot.info("hot {}", i);
+			hot.debug("disabled {}", i);
+			cold.info("cold {}", i);
+		}
+		hot.warn("always kept");
+
+		assertThat(events.list).filteredOn(event -> event.getLoggerName().equals(hot.getName()))
+				.extracting(ILoggingEvent::getFormattedMessage)
+				.containsExactly("hot 0", "hot 10", "hot 20", "hot 30", "hot 40",
+						"hot 50", "hot 60", "hot 70", "hot 80", "hot 90", "always kept");
+		assertThat(events.list).filteredOn(event -> event.getLoggerName().equals(cold.getName())).hasSize(100);
+	}
+}
@@ -0,0 +1,84 @@
+package com.enterprise.incident.metrics;
+
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The request metrics as Prometheus scrapes them: a rendered page shows up with its
+ * statement count tag and view render time, and the scrape needs HTTP Basic credentials.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@AutoConfigureObservability(tracing = false)
+class RequestMetricsTests {
+
+	private static final String SCRAPE_PASSWORD = "scrape-secret";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	private User user;
+
+	@BeforeEach
+	void seed() {
+		user = userRepository.save(User.builder()
+				.username("metrics-user")
+				.email("metrics-user@example.com")
+				.password(passwordEncoder.encode(SCRAPE_PASSWORD))
+				.role(User.Role.ROLE_USER)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void renderedPageIsTaggedWithItsStatementsAndRenderTime() throws Exception {
+		mockMvc.perform(get("/dashboard").with(user(UserPrincipal.from(user))))
+				.andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("metrics-user", SCRAPE_PASSWORD)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(scrape)
+				.containsPattern("http_server_requests_seconds_count\\{[^}]*db_statements=\"(0|1|2-5|6-20|21\\+)\""
+						+ "[^}]*uri=\"/dashboard\"")
+				.containsPattern("incident_http_db_statements_count\\{[^}]*uri=\"/dashboard\"")
+				.containsPattern("incident_view_render_seconds_count\\{[^}]*view=\"dashboard\"");
+	}
+
+	@Test
+	void scrapeWithoutCredentialsIsChallenged() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isUnauthorized())
+				.andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"incident-api\""));
+	}
+}
@@ -0,0 +1,87 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrading a database created by the first release: it is baselined at version 0, every
+ * migration runs on top of the existing tables, and Hibernate's schema validation passes
+ * (the context would not start otherwise).
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:first-release;DB_CLOSE_DELAY=-1")
+class FirstReleaseMigrationTests {
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private Flyway flyway;
+
+	@Test
+	void everyMigrationRunsOnTopOfTheBaseline() {
+		assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion))
+				.containsExactly(MigrationVersion.fromVersion("0"), MigrationVersion.fromVersion("1"),
+						MigrationVersion.fromVersion("2"), MigrationVersion.fromVersion("3"),
+						MigrationVersion.fromVersion("4"), MigrationVersion.fromVersion("5"),
+						MigrationVersion.fromVersion("6"));
+		assertThat(jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes "
+				+ "WHERE table_name = 'INCIDENTS'", String.class))
+				.contains("IDX_INCIDENTS_CREATED", "IDX_INCIDENTS_REPORTER_CREATED")
+				.doesNotContain("IDX_STATUS", "IDX_CREATED_AT");
+	}
+
+	@Test
+	void newIncidentsAreNumberedAfterTheExistingOnes() {
+		assertThat(incidentRepository.count()).isEqualTo(120);
+		User reporter = userRepository.findByUsername("first-release-user").orElseThrow();
+
+		Incident incident = incidentRepository.save(Incident.builder()
+				.title("Reported after the upgrade")
+				.description("Takes its id from incidents_seq")
+				.severity(Incident.Severity.HIGH)
+				.reportedBy(reporter)
+				.build());
+
+		assertThat(incident.getId()).isGreaterThan(120);
+		assertThat(incidentRepository.findById(1L)).get()
+				.extracting(Incident::getTitle).isEqualTo("First release incident 1");
+	}
+
+	@TestConfiguration
+	static class FirstReleaseDatabase {
+
+		/**
+		 * Creates the first release's tables just before Flyway runs
+		 */
+		@Bean
+		FlywayMigrationStrategy firstReleaseThenMigrate() {
+			return flyway -> {
+				new ResourceDatabasePopulator(new ClassPathResource("db/first-release-schema.sql"))
+						.execute(flyway.getConfiguration().getDataSource());
+				flyway.migrate();
+			};
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.enterprise.incident.repository;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.metrics.RequestStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks with EXPLAIN that the incident list queries of {@link IncidentRepository} are
+ * served by the indexes of the db/migration scripts. Each plan is for the SQL Hibernate
+ * generated for the repository call, as seen by the statement inspector, with the same
+ * parameters. H2 only reports "index sorted" when the ORDER BY starts at the first index
+ * column, so lists filtered on a leading column assert the index choice only; PostgreSQL
+ * reads those in index order as well.
+ */
+@SpringBootTest
+@Transactional
+class IncidentIndexPlanTests {
+
+	@SpyBean
+	private RequestStatementCounter statementInspector;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long reporterId;
+
+	@BeforeEach
+	void seed() {
+		for (int r = 0; r < 10; r++) {
+			jdbcTemplate.update("INSERT INTO users (username, email, password, role, enabled, created_at, updated_at) "
+					+ "VALUES (?, ?, 'x', 'ROLE_USER', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+					"plan-user" + r, "plan-user" + r + "@enterprise.com");
+		}
+		reporterId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users WHERE username LIKE 'plan-user%'", Long.class);
+		jdbcTemplate.update("INSERT INTO incidents (id, title, description, severity, status, reported_by_id, created_at, updated_at) "
+				+ "SELECT (SELECT COALESCE(MAX(id), 0) FROM incidents) + x, 'Incident ' || x, 'Plan fixture incident', "
+				+ "CASEWHEN(MOD(x, 4) = 0, 'CRITICAL', CASEWHEN(MOD(x, 4) = 1, 'HIGH', 'LOW')), "
+				+ "CASEWHEN(MOD(x, 3) = 0, 'OPEN', 'RESOLVED'), ? + MOD(x, 10), "
+				+ "DATEADD(MINUTE, x, TIMESTAMP '2024-01-01 00:00:00'), CURRENT_TIMESTAMP "
+				+ "FROM SYSTEM_RANGE(1, 5000)", reporterId);
+	}
+
+	@Test
+	void newestIncidentsAreReadInIndexOrder() {
+		assertThat(plan(summaries(null), 20))
+				.contains("FROM \"PUBLIC\".\"INCIDENTS\" \"I1_0\"\n    /* PUBLIC.IDX_INCIDENTS_CREATED */")
+				.contains("index sorted");
+	}
+
+	@Test
+	void olderPageSeeksIntoTheCreatedAtIndex() {
+		LocalDateTime cursor = LocalDateTime.of(2024, 1, 2, 0, 0);
+		assertThat(plan(summaries(IncidentSpecifications.before(cursor, 1440L)), cursor, cursor, 1440L, 20))
+				.contains("IDX_INCIDENTS_CREATED: CREATED_AT <= ?1")
+				.contains("index sorted");
+	}
+
+	/**
+	 * The filter is on incidents.reported_by_id, which idx_incidents_reporter_created leads
+	 * with. H2 also keeps an index of its own for the foreign key, which PostgreSQL does not
+	 * have, and may pick either.
+	 */
+	@Test
+	void reporterIncidentsAreAnIndexLookup() {
+		incidentRepository.findSummariesByReporterId(reporterId);
+		String sql = lastStatement();
+		assertThat(sql).contains("where i1_0.reported_by_id=?");
+
+		String foreignKeyIndex = jdbcTemplate.queryForObject("SELECT index_name FROM information_schema.table_constraints "
+				+ "WHERE table_name = 'INCIDENTS' AND constraint_type = 'FOREIGN KEY' "
+				+ "AND constraint_name IN (SELECT constraint_name FROM information_schema.key_column_usage "
+				+ "WHERE table_name = 'INCIDENTS' AND column_name = 'REPORTED_BY_ID')", String.class);
+		assertThat(plan(sql, reporterId)).containsAnyOf(
+				"PUBLIC.IDX_INCIDENTS_REPORTER_CREATED: REPORTED_BY_ID = ?1",
+				"PUBLIC." + foreignKeyIndex + ": REPORTED_BY_ID = ?1");
+	}
+
+	@Test
+	void statusAndSeverityListsUseTheirIndexes() {
+		assertThat(plan(summaries(IncidentSpecifications.hasStatusIn(Set.of(Incident.Status.OPEN))), "OPEN", 20))
+				.contains("IDX_INCIDENTS_STATUS_CREATED: STATUS = ?1");
+		assertThat(plan(summaries(IncidentSpecifications.hasSeverityIn(Set.of(Incident.Severity.CRITICAL))), "CRITICAL", 20))
+				.contains("IDX_INCIDENTS_SEVERITY_CREATED: SEVERITY = ?1");
+	}
+
+	/**
+	 * SQL of a 20-row admin list page, newest first
+	 */
+	private String summaries(Specification<Incident> specification) {
+		incidentRepository.findSummaries(Specification.where(specification), Sort.Direction.DESC, Limit.of(20));
+		return lastStatement();
+	}
+
+	private String lastStatement() {
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		verify(statementInspector, atLeastOnce()).inspect(sql.capture());
+		List<String> statements = sql.getAllValues();
+		return statements.get(statements.size() - 1);
+	}
+
+	private String plan(String sql, Object... parameters) {
+		return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+	}
+}
@@ -0,0 +1,80 @@
+package com.enterprise.incident.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login throughput (password verifications per second, per core) for each supported
+ * hashing configuration. Run with {@code mvn test -Pbenchmark}; the measurement time per
+ * configuration can be changed with {@code -Dbenchmark.seconds=N}.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmarkTests {
+
+	private static final String PASSWORD = "Correct-Horse-9!";
+
+	@Test
+	void loginsPerSecondPerCore() throws Exception {
+		int cores = Runtime.getRuntime().availableProcessors();
+		Duration duration = Duration.ofSeconds(Long.getLong("benchmark.seconds", 5));
+
+		Map<String, PasswordEncoder> encoders = new LinkedHashMap<>();
+		encoders.put("bcrypt(10)", new BCryptPasswordEncoder(10));
+		encoders.put("bcrypt(12)", new BCryptPasswordEncoder(12));
+		encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+		encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+		encoders.put("bcrypt(12) bounded", new BoundedPasswordEncoder(new BCryptPasswordEncoder(12),
+				cores, 1000, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+
+		System.out.printf("%n%-20s %12s %16s%n", "encoder", "logins/sec", "logins/sec/core");
+		for (Map.Entry<String, PasswordEncoder> entry : encoders.entrySet()) {
+			double perSecond = measure(entry.getValue(), cores, duration);
+			System.out.printf("%-20s %12.1f %16.2f%n", entry.getKey(), perSecond, perSecond / cores);
+			assertThat(perSecond).isPositive();
+		}
+	}
+
+	private static double measure(PasswordEncoder encoder, int threads, Duration duration) throws InterruptedException {
+		String hash = encoder.encode(PASSWORD);
+		encoder.matches(PASSWORD, hash); // warm-up
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder logins = new LongAdder();
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			Thread worker = new Thread(() -> {
+				while (running.get()) {
+					if (encoder.matches(PASSWORD, hash)) {
+						logins.increment();
+					}
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+
+		long start = System.nanoTime();
+		Thread.sleep(duration.toMillis());
+		running.set(false);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		return logins.sum() / seconds;
+	}
+}
@@ -0,0 +1,175 @@
+package com.enterprise.incident.security;
+
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Principal snapshots: reused by repeated logins, evicted once an account change commits,
+ * reloaded when the account no longer matches them, and bounded in both size and age.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class PrincipalCacheTests {
+
+	private static final String PASSWORD = "Cached-Pa55word";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private User user;
+
+	@BeforeEach
+	void seed() {
+		user = userRepository.save(User.builder()
+				.username("cached-user")
+				.email("cached-user@example.com")
+				.password(passwordEncoder.encode(PASSWORD))
+				.role(User.Role.ROLE_USER)
+				.build());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		principalCache.removeUserFromCache(user.getUsername());
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void repeatedLoginIsServedFromTheCache() throws Exception {
+		login();
+		assertThat(principalCache.getUserFromCache(user.getUsername())).isInstanceOf(UserPrincipal.class);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		login();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void committedAccountChangeEvictsThePrincipal() {
+		UserPrincipal principal = UserPrincipal.from(user);
+		principalCache.putUserInCache(principal);
+
+		userService.updatePassword(principal, passwordEncoder.encode("Another-Pa55word"));
+
+		assertThat(principalCache.getUserFromCache(user.getUsername())).isNull();
+	}
+
+	@Test
+	void disabledUserIsRejectedOnTheNextRequest() throws Exception {
+		ingest().andExpect(status().isOk());
+		assertThat(principalCache.getUserFromCache(user.getUsername())).isNotNull();
+
+		// Not through UserService, so no account change event evicts the snapshot
+		user.setEnabled(false);
+		userRepository.save(user);
+
+		ingest().andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void demotedUserIsReloadedWithTheNewRole() throws Exception {
+		user.setRole(User.Role.ROLE_ADMIN);
+		user = userRepository.save(user);
+		login();
+		assertThat(principalCache.getUserFromCache(user.getUsername()).getAuthorities())
+				.extracting(Object::toString).containsExactly("ROLE_ADMIN");
+
+		user.setRole(User.Role.ROLE_USER);
+		user = userRepository.save(user);
+
+		assertThat(principalCache.getUserFromCache(user.getUsername())).isNull();
+		login();
+		assertThat(principalCache.getUserFromCache(user.getUsername()).getAuthorities())
+				.extracting(Object::toString).containsExactly("ROLE_USER");
+	}
+
+	@Test
+	void leastRecentlyUsedAndExpiredEntriesAreDropped() throws Exception {
+		PrincipalCache bounded = new PrincipalCache(userRepository, transactionTemplate, 2, Duration.ofMillis(200));
+		bounded.putUserInCache(principal("first"));
+		bounded.putUserInCache(principal("second"));
+		bounded.getUserFromCache("first");
+		bounded.putUserInCache(principal("third"));
+
+		assertThat(bounded.getUserFromCache("second")).isNull();
+		assertThat(bounded.getUserFromCache("first")).isNotNull();
+		assertThat(bounded.getUserFromCache("third")).isNotNull();
+
+		Thread.sleep(250);
+		assertThat(bounded.getUserFromCache("first")).isNull();
+	}
+
+	private void login() throws Exception {
+		mockMvc.perform(post("/login")
+						.with(csrf())
+						.param("username", user.getUsername())
+						.param("password", PASSWORD))
+				.andExpect(redirectedUrl("/dashboard"));
+	}
+
+	private ResultActions ingest() throws Exception {
+		return mockMvc.perform(post("/api/incidents/bulk")
+				.with(httpBasic(user.getUsername(), PASSWORD))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"title\":\"Cached principal incident\",\"description\":\"Reported over HTTP Basic\","
+						+ "\"severity\":\"LOW\"}]"));
+	}
+
+	private UserPrincipal principal(String username) {
+		return UserPrincipal.from(userRepository.save(User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build()));
+	}
+}
@@ -0,0 +1,186 @@
+package com.enterprise.incident.security;
+
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Token-bucket limits on login, incident creation, attachment uploads and a short-period probe policy:
+ * refused requests get 429 before any password hashing, buckets are per IP or per user,
+ * and refilled buckets are swept.
+ */
+@SpringBootTest(properties = {
+		"incident.rate-limit.policies[0].name=login",
+		"incident.rate-limit.policies[0].method=POST",
+		"incident.rate-limit.policies[0].path=/login",
+		"incident.rate-limit.policies[0].key=ip",
+		"incident.rate-limit.policies[0].capacity=3",
+		"incident.rate-limit.policies[0].period=PT1H",
+		"incident.rate-limit.policies[1].name=create-incident",
+		"incident.rate-limit.policies[1].method=POST",
+		"incident.rate-limit.policies[1].path=/incidents/create",
+		"incident.rate-limit.policies[1].key=user",
+		"incident.rate-limit.policies[1].capacity=2",
+		"incident.rate-limit.policies[1].period=PT1H",
+		"incident.rate-limit.policies[2].name=probe",
+		"incident.rate-limit.policies[2].method=GET",
+		"incident.rate-limit.policies[2].path=/css/app.css",
+		"incident.rate-limit.policies[2].key=ip",
+		"incident.rate-limit.policies[2].capacity=1",
+		"incident.rate-limit.policies[2].period=PT2S",
+		"incident.rate-limit.policies[3].name=attachment-upload",
+		"incident.rate-limit.policies[3].method=POST",
+		"incident.rate-limit.policies[3].path=/incidents/*/attachments",
+		"incident.rate-limit.policies[3].key=user",
+		"incident.rate-limit.policies[3].capacity=1",
+		"incident.rate-limit.policies[3].period=PT1H"
+})
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+class RateLimitTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RateLimiter rateLimiter;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private User reporter;
+	private User otherUser;
+
+	@BeforeEach
+	void seed() {
+		reporter = userRepository.save(newUser("rl-reporter"));
+		otherUser = userRepository.save(newUser("rl-other"));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void loginIsLimitedPerClientIpBeforeHashing() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			login("10.0.0.1").andExpect(status().is3xxRedirection());
+		}
+		long hashes = meterRegistry.get("incident.password.hashing").tag("operation", "matches").timer().count();
+
+		String retryAfter = login("10.0.0.1")
+				.andExpect(status().isTooManyRequests())
+				.andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+		// One of three tokens per hour comes back every 20 minutes
+		assertThat(Long.parseLong(retryAfter)).isBetween(1100L, 1200L);
+		assertThat(meterRegistry.get("incident.password.hashing").tag("operation", "matches").timer().count())
+				.isEqualTo(hashes);
+		assertThat(meterRegistry.get("incident.ratelimit.rejected").tag("policy", "login").counter().count())
+				.isPositive();
+
+		login("10.0.0.2").andExpect(status().is3xxRedirection());
+	}
+
+	@Test
+	void incidentCreationIsLimitedPerUser() throws Exception {
+		createIncident(reporter).andExpect(status().is3xxRedirection());
+		createIncident(reporter).andExpect(status().is3xxRedirection());
+		createIncident(reporter).andExpect(status().isTooManyRequests());
+		assertThat(incidentRepository.count()).isEqualTo(2);
+
+		createIncident(otherUser).andExpect(status().is3xxRedirection());
+
+		// Refused before the CSRF filter reads (and for uploads, parses) the request body
+		mockMvc.perform(post("/incidents/create")
+						.param("title", "Printer jammed again")
+						.with(user(UserPrincipal.from(reporter))))
+				.andExpect(status().isTooManyRequests());
+	}
+
+	@Test
+	void attachmentUploadsAreLimitedPerUserAcrossIncidents() throws Exception {
+		uploadAttachment(reporter, 1).andExpect(status().is(not(429)));
+		uploadAttachment(reporter, 2).andExpect(status().isTooManyRequests());
+		uploadAttachment(otherUser, 1).andExpect(status().is(not(429)));
+	}
+
+	@Test
+	void refilledBucketsAreSwept() throws Exception {
+		mockMvc.perform(get("/css/app.css").with(remoteAddr("10.0.0.9"))).andExpect(status().isOk());
+		mockMvc.perform(get("/css/app.css").with(remoteAddr("10.0.0.9"))).andExpect(status().isTooManyRequests());
+		assertThat(rateLimiter.getBucketCount()).isPositive();
+
+		Thread.sleep(2200);
+		assertThat(rateLimiter.evictIdle()).isPositive();
+		mockMvc.perform(get("/css/app.css").with(remoteAddr("10.0.0.9"))).andExpect(status().isOk());
+	}
+
+	private ResultActions login(String ip) throws Exception {
+		return mockMvc.perform(post("/login")
+				.param("username", "nobody")
+				.param("password", "wrong-password")
+				.with(csrf())
+				.with(remoteAddr(ip)));
+	}
+
+	private ResultActions createIncident(User author) throws Exception {
+		return mockMvc.perform(post("/incidents/create")
+				.param("title", "Printer jammed again")
+				.param("description", "Third floor printer jams on every job")
+				.param("severity", "LOW")
+				.with(csrf())
+				.with(user(UserPrincipal.from(author))));
+	}
+
+	private ResultActions uploadAttachment(User author, long incidentId) throws Exception {
+		return mockMvc.perform(multipart("/incidents/" + incidentId + "/attachments")
+				.file(new MockMultipartFile("files", "evidence.log", "text/plain", new byte[]{1}))
+				.with(csrf())
+				.with(user(UserPrincipal.from(author))));
+	}
+
+	private static RequestPostProcessor remoteAddr(String ip) {
+		return request -> {
+			request.setRemoteAddr(ip);
+			return request;
+		};
+	}
+
+	private static User newUser(String username) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build();
+	}
+}
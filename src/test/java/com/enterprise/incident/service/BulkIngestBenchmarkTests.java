@@ -0,0 +1,106 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.dto.BulkIngestResult;
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incident creation throughput: one transaction per incident versus NDJSON bulk
+ * ingestion with batched inserts. Run with {@code mvn test -Pbenchmark}; the volume
+ * can be changed with {@code -Dbenchmark.incidents=N}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BulkIngestBenchmarkTests {
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private IncidentIngestService incidentIngestService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private UserPrincipal reporter;
+
+	@BeforeEach
+	void authenticate() {
+		User user = userRepository.save(User.builder()
+				.username("bench-ingest")
+				.email("bench-ingest@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+		reporter = UserPrincipal.from(user);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(reporter, null, reporter.getAuthorities()));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void incidentsPerSecond() throws Exception {
+		int volume = Integer.getInteger("benchmark.incidents", 5000);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < volume; i++) {
+			incidentService.createIncident(incident(i), reporter);
+		}
+		double singlePerSecond = volume * 1e9 / (System.nanoTime() - start);
+
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < volume; i++) {
+			ndjson.append("{\"title\":\"Bulk incident ").append(i)
+					.append("\",\"description\":\"Bulk ingestion benchmark incident\",\"severity\":\"")
+					.append(severity(i)).append("\"}\n");
+		}
+		BulkIngestResult bulk = incidentIngestService.ingestNdjson(
+				new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), reporter);
+
+		System.out.printf("%n%-24s %14s%n", "path", "incidents/sec");
+		System.out.printf("%-24s %14.1f%n", "single insert", singlePerSecond);
+		System.out.printf("%-24s %14.1f%n", "bulk (ndjson, batched)", bulk.incidentsPerSecond());
+
+		assertThat(bulk.accepted()).isEqualTo(volume);
+		assertThat(bulk.rejected()).isZero();
+		assertThat(incidentRepository.count()).isEqualTo(2L * volume);
+	}
+
+	private static IncidentDto incident(int i) {
+		return IncidentDto.builder()
+				.title("Single incident " + i)
+				.description("Bulk ingestion benchmark incident")
+				.severity(severity(i))
+				.build();
+	}
+
+	private static Incident.Severity severity(int i) {
+		return Incident.Severity.values()[i % Incident.Severity.values().length];
+	}
+}
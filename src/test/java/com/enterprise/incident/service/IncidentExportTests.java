@@ -0,0 +1,137 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Export formats: RFC 4180 quoting in CSV, one parseable object per line in NDJSON,
+ * rows in id order, and admins only.
+ */
+@SpringBootTest
+class IncidentExportTests {
+
+	private static final String TRICKY_TITLE = "Disk full, \"again\"";
+	private static final String TRICKY_DESCRIPTION = "First line\r\nSecond line, with a comma";
+
+	@Autowired
+	private IncidentExportService exportService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	private User admin;
+	private Incident tricky;
+	private Incident plain;
+
+	@BeforeEach
+	void seed() {
+		admin = userRepository.save(User.builder()
+				.username("export-admin")
+				.email("export-admin@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_ADMIN)
+				.build());
+		tricky = incidentRepository.save(Incident.builder()
+				.title(TRICKY_TITLE)
+				.description(TRICKY_DESCRIPTION)
+				.severity(Incident.Severity.HIGH)
+				.adminNotes("Said \"it's fine\"")
+				.reportedBy(admin)
+				.build());
+		plain = incidentRepository.save(Incident.builder()
+				.title("Plain title")
+				.description("Nothing to escape here")
+				.severity(Incident.Severity.LOW)
+				.reportedBy(admin)
+				.build());
+		runAs(admin);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void csvQuotesSeparatorsQuotesAndLineBreaks() throws Exception {
+		String csv = export(IncidentExportService.ExportFormat.CSV);
+
+		assertThat(csv).startsWith("id,title,description,severity,status,admin_notes,reported_by,created_at,updated_at\r\n");
+		assertThat(csv).contains("\r\n" + tricky.getId() + ",\"Disk full, \"\"again\"\"\","
+				+ "\"First line\r\nSecond line, with a comma\",HIGH,OPEN,\"Said \"\"it's fine\"\"\",export-admin,");
+		// Unquoted fields and an empty admin note
+		assertThat(csv).contains("\r\n" + plain.getId() + ",Plain title,Nothing to escape here,LOW,OPEN,,export-admin,");
+		assertThat(csv.indexOf("\r\n" + tricky.getId() + ",")).isLessThan(csv.indexOf("\r\n" + plain.getId() + ","));
+		assertThat(csv).endsWith("\r\n");
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws Exception {
+		String ndjson = export(IncidentExportService.ExportFormat.NDJSON);
+
+		String[] lines = ndjson.split("\n");
+		assertThat(ndjson).endsWith("\n");
+		assertThat(lines).hasSize(2);
+		ObjectMapper mapper = new ObjectMapper();
+		JsonNode first = mapper.readTree(lines[0]);
+		assertThat(first.get("id").asLong()).isEqualTo(tricky.getId());
+		assertThat(first.get("title").asText()).isEqualTo(TRICKY_TITLE);
+		assertThat(first.get("description").asText()).isEqualTo(TRICKY_DESCRIPTION);
+		assertThat(first.get("severity").asText()).isEqualTo("HIGH");
+		assertThat(first.get("reportedBy").asText()).isEqualTo("export-admin");
+		assertThat(first.get("createdAt").asText()).isNotBlank();
+		JsonNode second = mapper.readTree(lines[1]);
+		assertThat(second.get("id").asLong()).isEqualTo(plain.getId());
+		assertThat(second.get("adminNotes").isNull()).isTrue();
+	}
+
+	@Test
+	void onlyAdminsMayExport() {
+		User reporter = userRepository.save(User.builder()
+				.username("export-user")
+				.email("export-user@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_USER)
+				.build());
+		runAs(reporter);
+
+		assertThatThrownBy(() -> export(IncidentExportService.ExportFormat.CSV))
+				.isInstanceOf(AccessDeniedException.class);
+	}
+
+	private String export(IncidentExportService.ExportFormat format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static void runAs(User user) {
+		UserPrincipal principal = UserPrincipal.from(user);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+}
@@ -0,0 +1,170 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.dto.IncidentFilter;
+import com.enterprise.incident.dto.IncidentSummary;
+import com.enterprise.incident.dto.KeysetPage;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paging through the admin incident list with the (createdAt, id) cursor, in both sort
+ * orders and with filters: every matching incident is returned exactly once, in order,
+ * including incidents that share a creation time across a page boundary.
+ */
+@SpringBootTest
+class IncidentKeysetPageTests {
+
+	private static final int PAGE_SIZE = 4;
+	private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Incident> incidents = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		UserPrincipal admin = UserPrincipal.from(userRepository.save(newUser("keyset-admin", User.Role.ROLE_ADMIN)));
+		List<User> reporters = List.of(newUser("keyset-alice", User.Role.ROLE_USER), newUser("keyset-bob", User.Role.ROLE_USER))
+				.stream().map(userRepository::save).toList();
+		for (int i = 0; i < 15; i++) {
+			Incident incident = incidentRepository.save(Incident.builder()
+					.title("Keyset incident " + i)
+					.description("Keyset pagination fixture incident")
+					.severity(i % 2 == 0 ? Incident.Severity.HIGH : Incident.Severity.LOW)
+					.reportedBy(reporters.get(i % 3 == 0 ? 0 : 1))
+					.build());
+			// Three incidents per minute, so ties on createdAt straddle page boundaries
+			incident.setCreatedAt(START.plusMinutes(i / 3));
+			jdbcTemplate.update("UPDATE incidents SET created_at = ? WHERE id = ?",
+					Timestamp.valueOf(incident.getCreatedAt()), incident.getId());
+			incidents.add(incident);
+		}
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void newestFirstReturnsEveryIncidentOnce() {
+		assertThat(pageThrough(filter(null, null, IncidentFilter.SortOrder.NEWEST)))
+				.containsExactlyElementsOf(expected(incident -> true, IncidentFilter.SortOrder.NEWEST));
+	}
+
+	@Test
+	void oldestFirstReturnsEveryIncidentOnce() {
+		assertThat(pageThrough(filter(null, null, IncidentFilter.SortOrder.OLDEST)))
+				.containsExactlyElementsOf(expected(incident -> true, IncidentFilter.SortOrder.OLDEST));
+	}
+
+	@Test
+	void filteredPagesKeepTheFilterAcrossCursors() {
+		for (IncidentFilter.SortOrder sort : IncidentFilter.SortOrder.values()) {
+			assertThat(pageThrough(filter(null, "keyset-bob", sort)))
+					.containsExactlyElementsOf(expected(
+							incident -> incident.getReportedBy().getUsername().equals("keyset-bob"), sort));
+			assertThat(pageThrough(filter(Incident.Severity.HIGH, "keyset-alice", sort)))
+					.containsExactlyElementsOf(expected(incident -> incident.getSeverity() == Incident.Severity.HIGH
+							&& incident.getReportedBy().getUsername().equals("keyset-alice"), sort));
+		}
+	}
+
+	@Test
+	void reporterIsFilteredInTheListQuery() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		KeysetPage<IncidentSummary> page = incidentService.getIncidentPage(
+				filter(null, "keyset-alice", IncidentFilter.SortOrder.NEWEST), null, null, PAGE_SIZE);
+
+		assertThat(page.content()).extracting(IncidentSummary::getReporterUsername).containsOnly("keyset-alice");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		assertThat(incidentService.getIncidentPage(filter(null, "nobody", IncidentFilter.SortOrder.NEWEST),
+				null, null, PAGE_SIZE).content()).isEmpty();
+	}
+
+	/**
+	 * Ids of every page, following the cursors until the last page
+	 */
+	private List<Long> pageThrough(IncidentFilter filter) {
+		List<Long> ids = new ArrayList<>();
+		LocalDateTime afterCreatedAt = null;
+		Long afterId = null;
+		for (int pages = 0; pages <= incidents.size(); pages++) {
+			KeysetPage<IncidentSummary> page = incidentService.getIncidentPage(filter, afterCreatedAt, afterId, PAGE_SIZE);
+			assertThat(page.content()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+			page.content().forEach(summary -> ids.add(summary.getId()));
+			if (!page.hasNext()) {
+				return ids;
+			}
+			afterCreatedAt = page.nextCreatedAt();
+			afterId = page.nextId();
+		}
+		throw new AssertionError("Pagination did not end: " + ids);
+	}
+
+	private List<Long> expected(Predicate<Incident> matches, IncidentFilter.SortOrder sort) {
+		Comparator<Incident> order = Comparator.comparing(Incident::getCreatedAt).thenComparing(Incident::getId);
+		return incidents.stream()
+				.filter(matches)
+				.sorted(sort == IncidentFilter.SortOrder.OLDEST ? order : order.reversed())
+				.map(Incident::getId)
+				.toList();
+	}
+
+	private static IncidentFilter filter(Incident.Severity severity, String reporter, IncidentFilter.SortOrder sort) {
+		return new IncidentFilter(null, severity == null ? null : Set.of(severity), reporter, null, null, sort);
+	}
+
+	private static User newUser(String username, User.Role role) {
+		return User.builder()
+				.username(username)
+				.email(username + "@example.com")
+				.password("{noop}unused")
+				.role(role)
+				.build();
+	}
+}
@@ -0,0 +1,174 @@
+package com.enterprise.incident.service;
+
+import com.enterprise.incident.dto.IncidentDto;
+import com.enterprise.incident.entity.Incident;
+import com.enterprise.incident.entity.User;
+import com.enterprise.incident.event.IncidentChangedEvent;
+import com.enterprise.incident.repository.IncidentRepository;
+import com.enterprise.incident.repository.UserRepository;
+import com.enterprise.incident.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The admin dashboard snapshot: served from memory without queries, adjusted by every
+ * committed create, update and delete, and corrected by a reconcile that keeps the changes
+ * committed while it runs.
+ */
+@SpringBootTest
+class IncidentStatisticsCacheTests {
+
+	@Autowired
+	private IncidentStatisticsCache statisticsCache;
+
+	@Autowired
+	private IncidentService incidentService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IncidentRepository incidentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private UserPrincipal admin;
+
+	@BeforeEach
+	void seed() {
+		admin = UserPrincipal.from(userRepository.save(User.builder()
+				.username("stats-admin")
+				.email("stats-admin@example.com")
+				.password("{noop}unused")
+				.role(User.Role.ROLE_ADMIN)
+				.build()));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+		// Other test classes delete rows in bulk, behind the counters' back
+		statisticsCache.reconcile();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		SecurityContextHolder.clearContext();
+		incidentRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+		statisticsCache.reconcile();
+	}
+
+	@Test
+	void snapshotIsServedFromMemory() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		statisticsCache.snapshot();
+		assertThat(incidentService.getStatistics(admin)).isEqualTo(statisticsCache.snapshot());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void snapshotFollowsCommittedCreateUpdateAndDelete() {
+		IncidentService.IncidentStatistics before = statisticsCache.snapshot();
+
+		Incident incident = incidentService.createIncident(dto(Incident.Severity.CRITICAL), admin);
+		IncidentService.IncidentStatistics created = statisticsCache.snapshot();
+		assertThat(created.total()).isEqualTo(before.total() + 1);
+		assertThat(created.open()).isEqualTo(before.open() + 1);
+		assertThat(created.critical()).isEqualTo(before.critical() + 1);
+
+		incidentService.updateIncident(incident.getId(), Incident.Status.RESOLVED, null, admin);
+		IncidentService.IncidentStatistics resolved = statisticsCache.snapshot();
+		assertThat(resolved.total()).isEqualTo(created.total());
+		assertThat(resolved.open()).isEqualTo(before.open());
+		assertThat(resolved.resolved()).isEqualTo(before.resolved() + 1);
+
+		incidentService.deleteIncident(incident.getId(), admin);
+		assertThat(statisticsCache.snapshot()).isEqualTo(before);
+	}
+
+	@Test
+	void reconcileCorrectsChangesMadeBehindTheCounters() {
+		IncidentService.IncidentStatistics before = statisticsCache.snapshot();
+		incidentRepository.save(Incident.builder()
+				.title("Inserted without an event")
+				.description("Not seen by the counters until they are reconciled")
+				.severity(Incident.Severity.LOW)
+				.reportedBy(userRepository.getReferenceById(admin.getId()))
+				.build());
+		assertThat(statisticsCache.snapshot()).isEqualTo(before);
+
+		statisticsCache.reconcile();
+		assertThat(statisticsCache.snapshot().total()).isEqualTo(before.total() + 1);
+	}
+
+	@Test
+	void changesCommittedDuringAReconcileAreKept() {
+		IncidentRepository repository = mock(IncidentRepository.class);
+		IncidentStatisticsCache cache = new IncidentStatisticsCache(repository);
+		when(repository.countGroupedByStatusAndSeverity())
+				.thenReturn(List.of(count(Incident.Status.OPEN, Incident.Severity.HIGH, 3)));
+		cache.reconcile();
+
+		// A creation and a resolution commit after the count query took its snapshot
+		when(repository.countGroupedByStatusAndSeverity()).thenAnswer(invocation -> {
+			cache.onIncidentChanged(changed(null, Incident.Status.OPEN, Incident.Severity.LOW));
+			cache.onIncidentChanged(changed(Incident.Status.OPEN, Incident.Status.RESOLVED, Incident.Severity.HIGH));
+			return List.of(count(Incident.Status.OPEN, Incident.Severity.HIGH, 3));
+		});
+		cache.reconcile();
+
+		assertThat(cache.snapshot()).isEqualTo(new IncidentService.IncidentStatistics(4, 3, 0, 1, 0));
+	}
+
+	private static IncidentRepository.StatusSeverityCount count(Incident.Status status, Incident.Severity severity,
+																long total) {
+		return new IncidentRepository.StatusSeverityCount() {
+			@Override
+			public Incident.Status getStatus() {
+				return status;
+			}
+
+			@Override
+			public Incident.Severity getSeverity() {
+				return severity;
+			}
+
+			@Override
+			public long getTotal() {
+				return total;
+			}
+		};
+	}
+
+	private static IncidentChangedEvent changed(Incident.Status previousStatus, Incident.Status status,
+												Incident.Severity severity) {
+		LocalDateTime now = LocalDateTime.now();
+		return new IncidentChangedEvent(previousStatus == null ? IncidentChangedEvent.Type.CREATED
+				: IncidentChangedEvent.Type.UPDATED, 1L, 1L, "reporter", severity, previousStatus, status,
+				"Title", "Description", "reporter", null, now, now);
+	}
+
+	private static IncidentDto dto(Incident.Severity severity) {
+		IncidentDto dto = new IncidentDto();
+		dto.setTitle("Statistics fixture incident");
+		dto.setDescription("Counted by the dashboard statistics cache");
+		dto.setSeverity(severity);
+		return dto;
+	}
+}
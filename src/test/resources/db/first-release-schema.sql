@@ -0,0 +1,44 @@
+-- The tables as the first release left them on PostgreSQL (ddl-auto: update, identity
+-- ids, no migrations), with a few rows, for FirstReleaseMigrationTests. idx_reported_by
+-- is left out: when V1 adds a column, H2 hands that index over to the foreign key and V2
+-- can no longer drop it.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_username ON users (username);
+CREATE UNIQUE INDEX idx_email ON users (email);
+
+CREATE TABLE incidents (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT NOT NULL,
+    severity VARCHAR(20) NOT NULL CHECK (severity IN ('LOW', 'MEDIUM', 'HIGH', 'CRITICAL')),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    admin_notes TEXT,
+    reported_by_id BIGINT NOT NULL REFERENCES users (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_status ON incidents (status);
+CREATE INDEX idx_severity ON incidents (severity);
+CREATE INDEX idx_created_at ON incidents (created_at);
+
+INSERT INTO users (username, email, password, role, enabled, created_at, updated_at)
+VALUES ('first-release-user', 'first-release-user@example.com', '{noop}unused', 'ROLE_USER', TRUE,
+        TIMESTAMP '2024-01-01 00:00:00', TIMESTAMP '2024-01-01 00:00:00');
+
+INSERT INTO incidents (id, title, description, severity, status, reported_by_id, created_at, updated_at)
+SELECT x, 'First release incident ' || x, 'Reported before migrations', 'LOW', 'OPEN',
+       (SELECT id FROM users WHERE username = 'first-release-user'),
+       DATEADD(MINUTE, x, TIMESTAMP '2024-01-01 00:00:00'), TIMESTAMP '2024-01-01 00:00:00'
+FROM SYSTEM_RANGE(1, 120);